@@ -0,0 +1,82 @@
+package uk.gov.hmcts.reform.dev.controllers;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Goes through the embedded Tomcat rather than MockMvc, as compression happens in the connector.
+ * Tomcat leaves any response with a strong ETag uncompressed, which MockMvc would never show.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:compressed-pages;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "tasks.outbox.poll-interval=1h"
+})
+class CompressedTaskPageTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @DisplayName("A large page is gzipped and still carries an ETag that answers If-None-Match")
+    void getAllTasks_LargePage_IsGzippedWithWeakETag() throws Exception {
+        String description = "Collect the witness statements and the bundle index. ".repeat(4);
+        for (int i = 0; i < 30; i++) {
+            HttpResponse<String> created = client.send(
+                HttpRequest.newBuilder(uri("/api/tasks"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"title\":\"Compressed " + i + "\",\"description\":\"" + description
+                            + "\",\"status\":\"OPEN\"}"))
+                    .build(),
+                HttpResponse.BodyHandlers.ofString());
+            assertThat(created.statusCode()).isEqualTo(201);
+        }
+
+        HttpResponse<InputStream> page = client.send(
+            HttpRequest.newBuilder(uri("/api/tasks?size=30")).header("Accept-Encoding", "gzip").GET().build(),
+            HttpResponse.BodyHandlers.ofInputStream());
+
+        assertThat(page.statusCode()).isEqualTo(200);
+        assertThat(page.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        String etag = page.headers().firstValue("ETag").orElseThrow();
+        assertThat(etag).startsWith("W/");
+        assertThat(gunzip(page.body())).contains("\"title\":\"Compressed 29\"");
+
+        HttpResponse<Void> unchanged = client.send(
+            HttpRequest.newBuilder(uri("/api/tasks?size=30"))
+                .header("Accept-Encoding", "gzip")
+                .header("If-None-Match", etag)
+                .GET().build(),
+            HttpResponse.BodyHandlers.discarding());
+
+        assertThat(unchanged.statusCode()).isEqualTo(304);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static String gunzip(InputStream body) throws IOException {
+        try (InputStream in = new GZIPInputStream(body)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
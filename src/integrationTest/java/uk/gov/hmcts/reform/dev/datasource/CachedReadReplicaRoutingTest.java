@@ -0,0 +1,111 @@
+package uk.gov.hmcts.reform.dev.datasource;
+
+import com.jayway.jsonpath.JsonPath;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Read-your-writes with the task cache on. The replica holds an older copy of the task, as a
+ * lagging one would, so a stale entry in the cache shows up as the wrong title. Requests without
+ * the sticky cookie stand for other clients, and for the writer once its cookie has expired.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:cached-routing-primary;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "tasks.cache.enabled=true",
+    "tasks.outbox.poll-interval=1h",
+    "tasks.read-replicas.enabled=true",
+    "tasks.read-replicas.instances[0].url=" + CachedReadReplicaRoutingTest.REPLICA_URL,
+    "tasks.read-replicas.health-check-interval=1h"
+})
+@AutoConfigureMockMvc
+class CachedReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:cached-routing-replica;DB_CLOSE_DELAY=-1";
+
+    private static JdbcTemplate replica;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeAll
+    static void createReplica() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        replica = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void getTaskById_CacheMiss_IsLoadedFromThePrimaryNotTheLaggingReplica() throws Exception {
+        MvcResult created = create("Fresh on primary");
+        long id = idOf(created);
+        Cookie sticky = created.getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertThat(sticky).isNotNull();
+        replica.update("INSERT INTO tasks (id, title, status, created_date, version) "
+                           + "VALUES (?, 'Stale on replica', 'OPEN', CURRENT_TIMESTAMP, 0)", id);
+
+        // Another client, not pinned, misses the cache; the entry it leaves must be the primary's
+        mockMvc.perform(get("/api/tasks/{id}", id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.title").value("Fresh on primary"));
+
+        mockMvc.perform(get("/api/tasks/{id}", id).cookie(sticky))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.title").value("Fresh on primary"));
+    }
+
+    @Test
+    void getTaskById_AfterTheStickyCookieExpires_WriterStillSeesItsUpdate() throws Exception {
+        long id = idOf(create("Before the update"));
+        replica.update("INSERT INTO tasks (id, title, status, created_date, version) "
+                           + "VALUES (?, 'Before the update', 'OPEN', CURRENT_TIMESTAMP, 0)", id);
+        // Cached before the update, so the update has an entry to evict
+        mockMvc.perform(get("/api/tasks/{id}", id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.title").value("Before the update"));
+
+        mockMvc.perform(put("/api/tasks/{id}", id)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"title\":\"After the update\",\"status\":\"OPEN\"}"))
+            .andExpect(status().isOk());
+
+        // The replica has not caught up. The first read stands for another client refilling the
+        // cache, the second for the writer once its cookie has gone, served from that entry
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/tasks/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("After the update"));
+        }
+    }
+
+    private MvcResult create(String title) throws Exception {
+        return mockMvc.perform(post("/api/tasks")
+                                   .contentType(MediaType.APPLICATION_JSON)
+                                   .content("{\"title\":\"" + title + "\",\"status\":\"OPEN\"}"))
+            .andExpect(status().isCreated())
+            .andReturn();
+    }
+
+    private static long idOf(MvcResult result) throws Exception {
+        return ((Number) JsonPath.read(result.getResponse().getContentAsString(), "$.id")).longValue();
+    }
+}
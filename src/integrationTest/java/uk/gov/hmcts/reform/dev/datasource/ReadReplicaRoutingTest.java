@@ -0,0 +1,115 @@
+package uk.gov.hmcts.reform.dev.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the application against two separate H2 databases standing in for a primary and a
+ * replica. Nothing replicates between them, which makes it visible where each query went.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "tasks.cache.enabled=false",
+    "tasks.outbox.poll-interval=1h",
+    "tasks.read-replicas.enabled=true",
+    "tasks.read-replicas.instances[0].url=" + ReadReplicaRoutingTest.REPLICA_URL,
+    "tasks.read-replicas.lag-query=SELECT lag_seconds FROM replica_lag",
+    "tasks.read-replicas.health-check-interval=1h"
+})
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    private static final String REPLICA_TITLE = "Only on the replica";
+
+    private static JdbcTemplate replica;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @BeforeAll
+    static void createReplica() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        replica = new JdbcTemplate(dataSource);
+        replica.execute("CREATE TABLE replica_lag (lag_seconds DOUBLE PRECISION)");
+        replica.update("INSERT INTO replica_lag VALUES (0)");
+        replica.update("INSERT INTO tasks (id, title, status, created_date, version) "
+                           + "VALUES (100000, ?, 'OPEN', CURRENT_TIMESTAMP, 0)", REPLICA_TITLE);
+    }
+
+    @AfterEach
+    void resetReplicaLag() {
+        replica.update("UPDATE replica_lag SET lag_seconds = 0");
+        routingDataSource.checkReplicas();
+    }
+
+    @Test
+    void getAllTasks_IsServedByReplica() throws Exception {
+        mockMvc.perform(get("/api/tasks"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[*].title", hasItem(REPLICA_TITLE)));
+    }
+
+    @Test
+    void createTask_WritesToPrimaryAndPinsClientToIt() throws Exception {
+        MvcResult created = mockMvc.perform(post("/api/tasks")
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content("{\"title\":\"Written to primary\",\"status\":\"OPEN\"}"))
+            .andExpect(status().isCreated())
+            .andReturn();
+
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        assertThat(primary.queryForObject("SELECT COUNT(*) FROM tasks WHERE title = 'Written to primary'",
+                                          Integer.class)).isEqualTo(1);
+        assertThat(replica.queryForObject("SELECT COUNT(*) FROM tasks WHERE title = 'Written to primary'",
+                                          Integer.class)).isZero();
+
+        Cookie sticky = created.getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertThat(sticky).isNotNull();
+        mockMvc.perform(get("/api/tasks").cookie(sticky))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[*].title", hasItem("Written to primary")))
+            .andExpect(jsonPath("$.items[*].title", not(hasItem(REPLICA_TITLE))));
+    }
+
+    @Test
+    void laggingReplica_ReadsFallBackToPrimary() throws Exception {
+        replica.update("UPDATE replica_lag SET lag_seconds = 60");
+        routingDataSource.checkReplicas();
+
+        mockMvc.perform(get("/api/tasks"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[*].title", not(hasItem(REPLICA_TITLE))));
+    }
+}
@@ -0,0 +1,70 @@
+package uk.gov.hmcts.reform.dev.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import uk.gov.hmcts.reform.dev.Application;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Boots the real application against an in-memory H2 database for benchmarks.
+ */
+public final class BenchmarkApplication {
+
+    private static final int SEED_CHUNK = 1000;
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(String databaseName, WebApplicationType webType,
+                                                       String... extraProperties) {
+        String[] defaults = {
+            "spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+            "spring.datasource.driver-class-name=org.h2.Driver",
+            "spring.datasource.username=sa",
+            "spring.datasource.password=",
+            "spring.jpa.show-sql=false",
+            "spring.jpa.properties.hibernate.format_sql=false",
+            "logging.level.root=WARN",
+            "logging.level.org.hibernate.SQL=WARN",
+            // Every benchmark client comes from localhost; the ones that measure these turn them back on
+            "tasks.rate-limit.enabled=false",
+            "tasks.concurrency-limit.enabled=false",
+            "server.port=0"
+        };
+        return new SpringApplicationBuilder(Application.class)
+            .web(webType)
+            .properties(Stream.concat(Stream.of(defaults), Stream.of(extraProperties)).toArray(String[]::new))
+            .run();
+    }
+
+    public static void seedTasks(ConfigurableApplicationContext context, int count) {
+        TaskRepository repository = context.getBean(TaskRepository.class);
+        LocalDateTime dueBase = LocalDateTime.now().plusDays(1);
+        List<Task> chunk = new ArrayList<>(SEED_CHUNK);
+        for (int i = 0; i < count; i++) {
+            chunk.add(sampleTask(i, dueBase));
+            if (chunk.size() == SEED_CHUNK) {
+                repository.saveAll(chunk);
+                chunk.clear();
+            }
+        }
+        repository.saveAll(chunk);
+    }
+
+    public static Task sampleTask(int i, LocalDateTime dueBase) {
+        Task task = new Task();
+        task.setTitle("Task number " + i);
+        task.setDescription("Benchmark task " + i + " with a description of typical length for the service");
+        task.setStatus(i % 3 == 0 ? TaskStatus.COMPLETED : TaskStatus.OPEN);
+        task.setDueDate(dueBase.plusMinutes(i));
+        return task;
+    }
+}
@@ -0,0 +1,76 @@
+package uk.gov.hmcts.reform.dev.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import uk.gov.hmcts.reform.dev.dto.TaskBatchResultDto;
+import uk.gov.hmcts.reform.dev.dto.TaskRequestDto;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+import uk.gov.hmcts.reform.dev.services.TaskBatchService;
+import uk.gov.hmcts.reform.dev.services.TaskService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creating N tasks one service call (and one transaction) at a time, as the intake
+ * jobs used to, against a single batched call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskBatchBenchmark {
+
+    @Param({"100", "1000"})
+    private int items;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private TaskBatchService taskBatchService;
+    private List<TaskRequestDto> requests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("batch" + items, WebApplicationType.NONE);
+        taskService = context.getBean(TaskService.class);
+        taskBatchService = context.getBean(TaskBatchService.class);
+        LocalDateTime dueDate = LocalDateTime.now().plusYears(1);
+        requests = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            requests.add(new TaskRequestDto("Intake task " + i, "Created by the intake job", TaskStatus.OPEN,
+                                            dueDate, null));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int loopedSingleCreates() {
+        int created = 0;
+        for (TaskRequestDto request : requests) {
+            taskService.createTask(request);
+            created++;
+        }
+        return created;
+    }
+
+    @Benchmark
+    public int batchedCreate() {
+        TaskBatchResultDto result = taskBatchService.createTasks(requests);
+        return result.getSucceeded();
+    }
+}
@@ -0,0 +1,88 @@
+package uk.gov.hmcts.reform.dev.benchmark;
+
+import org.hibernate.Interceptor;
+import org.hibernate.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import uk.gov.hmcts.reform.dev.dto.TaskRequestDto;
+import uk.gov.hmcts.reform.dev.dto.TaskResponseDto;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+import uk.gov.hmcts.reform.dev.services.TaskGroupCommitWriter;
+import uk.gov.hmcts.reform.dev.services.TaskService;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 64 threads creating tasks one at a time, each in its own transaction and then through the group
+ * commit writer, with every commit slowed as a synchronous flush to disk would be. Compare the
+ * {@code groupCommit=false/true} rows: throughput for the gain, and the sample-time percentiles for
+ * what each create pays waiting for its group.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(64)
+public class TaskGroupCommitBenchmark {
+
+    private static final long COMMIT_DELAY_MILLIS = 2;
+
+    @Param({"false", "true"})
+    public boolean groupCommit;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private TaskGroupCommitWriter writer;
+    private TaskRequestDto request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+            "groupcommit" + groupCommit,
+            WebApplicationType.NONE,
+            "tasks.group-commit.enabled=" + groupCommit,
+            "spring.jpa.properties.hibernate.session_factory.interceptor=" + SlowCommit.class.getName()
+        );
+        taskService = context.getBean(TaskService.class);
+        writer = groupCommit ? context.getBean(TaskGroupCommitWriter.class) : null;
+        request = new TaskRequestDto("Intake task", "Created by the intake job", TaskStatus.OPEN,
+                                     LocalDateTime.now().plusYears(1), null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskResponseDto createTask() {
+        return writer == null ? taskService.createTask(request) : writer.create(request);
+    }
+
+    /**
+     * Called once per transaction just before it commits, on the connection that is about to
+     * commit, so the sleep costs what a commit waiting on fsync would.
+     */
+    public static class SlowCommit implements Interceptor {
+
+        @Override
+        public void beforeTransactionCompletion(Transaction tx) {
+            try {
+                Thread.sleep(COMMIT_DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
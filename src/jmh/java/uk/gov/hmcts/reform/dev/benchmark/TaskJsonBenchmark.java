@@ -0,0 +1,92 @@
+package uk.gov.hmcts.reform.dev.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import uk.gov.hmcts.reform.dev.dto.TaskPageDto;
+import uk.gov.hmcts.reform.dev.dto.TaskRequestDto;
+import uk.gov.hmcts.reform.dev.dto.TaskResponseDto;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson encode/decode of single tasks and of a full page, using an ObjectMapper
+ * built the same way Spring Boot builds the one behind the controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskJsonBenchmark {
+
+    private static final int PAGE_SIZE = 200;
+
+    private ObjectWriter responseWriter;
+    private ObjectWriter pageWriter;
+    private ObjectReader requestReader;
+    private ObjectReader pageReader;
+    private TaskResponseDto response;
+    private TaskPageDto page;
+    private String requestJson;
+    private String pageJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        responseWriter = objectMapper.writerFor(TaskResponseDto.class);
+        pageWriter = objectMapper.writerFor(TaskPageDto.class);
+        requestReader = objectMapper.readerFor(TaskRequestDto.class);
+        pageReader = objectMapper.readerFor(TaskPageDto.class);
+
+        LocalDateTime dueBase = LocalDateTime.now().plusDays(1);
+        response = sampleResponse(1, dueBase);
+        List<TaskResponseDto> items = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            items.add(sampleResponse(i, dueBase));
+        }
+        page = new TaskPageDto(items, "aWR8MjAw");
+        requestJson = objectMapper.writeValueAsString(
+            new TaskRequestDto("Task number 1", "Benchmark task", TaskStatus.OPEN, dueBase, null));
+        pageJson = pageWriter.writeValueAsString(page);
+    }
+
+    @Benchmark
+    public String encodeTask() throws JsonProcessingException {
+        return responseWriter.writeValueAsString(response);
+    }
+
+    @Benchmark
+    public TaskRequestDto decodeTaskRequest() throws JsonProcessingException {
+        return requestReader.readValue(requestJson);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public byte[] encodePage() throws JsonProcessingException {
+        return pageWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public TaskPageDto decodePage() throws JsonProcessingException {
+        return pageReader.readValue(pageJson);
+    }
+
+    private static TaskResponseDto sampleResponse(int i, LocalDateTime dueBase) {
+        return new TaskResponseDto((long) i, "Task number " + i, "Benchmark task " + i, TaskStatus.OPEN,
+                                   dueBase.plusMinutes(i), 0L);
+    }
+}
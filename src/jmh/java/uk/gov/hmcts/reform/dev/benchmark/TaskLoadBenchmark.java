@@ -0,0 +1,130 @@
+package uk.gov.hmcts.reform.dev.benchmark;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many concurrent clients against a deliberately small connection pool and a small
+ * Tomcat pool, run once on platform threads and once on virtual threads. Each SQL
+ * statement is delayed by a few milliseconds while its connection is held, standing
+ * in for a remote database. The bulkhead is on with virtual threads, as it is in production;
+ * load shedding and coalescing are off in both modes so they do not hide the difference.
+ * A 503 from the bulkhead still completes an operation, so compare the {@code ok} secondary
+ * result, the rate of 200s, and the p0.99 of the sample-time run between the two modes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(256)
+public class TaskLoadBenchmark {
+
+    private static final int SEEDED_TASKS = 5_000;
+    private static final int QUERY_DELAY_MILLIS = 5;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+            "load" + virtualThreads,
+            WebApplicationType.SERVLET,
+            "spring.threads.virtual.enabled=" + virtualThreads,
+            "tasks.bulkhead.enabled=" + virtualThreads,
+            "server.tomcat.threads.max=50",
+            "spring.datasource.hikari.maximum-pool-size=10",
+            "tasks.cache.enabled=false",
+            "tasks.concurrency-limit.enabled=false",
+            "tasks.coalescing.enabled=false",
+            "spring.jpa.properties.hibernate.session_factory.statement_inspector=" + SlowDatabase.class.getName()
+        );
+        BenchmarkApplication.seedTasks(context, SEEDED_TASKS);
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/tasks";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getTaskById(Responses responses) throws IOException, InterruptedException {
+        long id = ThreadLocalRandom.current().nextLong(1, SEEDED_TASKS + 1);
+        HttpResponse<byte[]> response = client.send(
+            HttpRequest.newBuilder(URI.create(baseUrl + "/" + id)).GET().build(),
+            HttpResponse.BodyHandlers.ofByteArray()
+        );
+        return responses.count(response.statusCode());
+    }
+
+    /**
+     * Status codes the clients got, reported beside the timings. 503s are the bulkhead turning
+     * requests away, fast answers that are not work done.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Responses {
+        public long ok;
+        public long shed;
+        public long other;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            ok = 0;
+            shed = 0;
+            other = 0;
+        }
+
+        int count(int status) {
+            switch (status) {
+                case 200 -> ok++;
+                case 503 -> shed++;
+                default -> other++;
+            }
+            return status;
+        }
+    }
+
+    /**
+     * Hibernate calls this as each statement is prepared, inside the transaction, so
+     * the sleep is spent holding a pooled connection just as a slow round trip would be.
+     */
+    public static class SlowDatabase implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            try {
+                Thread.sleep(QUERY_DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package uk.gov.hmcts.reform.dev.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A batch importer with 240 concurrent connections, all under one client id, alongside 16
+ * interactive users who each have their own, against a 10-connection pool with every statement
+ * slowed as in {@link TaskLoadBenchmark}. Run with rate limiting and adaptive load shedding off
+ * and on, and compare the {@code interactiveUser} p0.99 between the two. The status codes each
+ * side got are counted as secondary results; 429s and 503s are fast answers, not failures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskOverloadBenchmark {
+
+    private static final int SEEDED_TASKS = 5_000;
+
+    @Param({"false", "true"})
+    public boolean protection;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+            "overload" + protection,
+            WebApplicationType.SERVLET,
+            "spring.threads.virtual.enabled=true",
+            "spring.datasource.hikari.maximum-pool-size=10",
+            "tasks.cache.enabled=false",
+            "tasks.coalescing.enabled=false",
+            "tasks.rate-limit.enabled=" + protection,
+            "tasks.rate-limit.requests-per-second=200",
+            "tasks.rate-limit.burst=400",
+            "tasks.concurrency-limit.enabled=" + protection,
+            "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + TaskLoadBenchmark.SlowDatabase.class.getName()
+        );
+        BenchmarkApplication.seedTasks(context, SEEDED_TASKS);
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/tasks";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Group("overload")
+    @GroupThreads(240)
+    public int batchClient(BatchResponses responses) throws IOException, InterruptedException {
+        return responses.count(send("batch-importer", "?size=200"));
+    }
+
+    @Benchmark
+    @Group("overload")
+    @GroupThreads(16)
+    public int interactiveUser(InteractiveResponses responses) throws IOException, InterruptedException {
+        long id = ThreadLocalRandom.current().nextLong(1, SEEDED_TASKS + 1);
+        return responses.count(send("user-" + Thread.currentThread().threadId(), "/" + id));
+    }
+
+    private int send(String clientId, String path) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(
+            HttpRequest.newBuilder(URI.create(baseUrl + path)).header("X-Client-Id", clientId).GET().build(),
+            HttpResponse.BodyHandlers.ofByteArray()
+        );
+        return response.statusCode();
+    }
+
+    /**
+     * Status codes the batch client got, reported beside the timings.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class BatchResponses {
+        public long batchOk;
+        public long batchRateLimited;
+        public long batchShed;
+        public long batchOther;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            batchOk = 0;
+            batchRateLimited = 0;
+            batchShed = 0;
+            batchOther = 0;
+        }
+
+        int count(int status) {
+            switch (status) {
+                case 200 -> batchOk++;
+                case 429 -> batchRateLimited++;
+                case 503 -> batchShed++;
+                default -> batchOther++;
+            }
+            return status;
+        }
+    }
+
+    /**
+     * Status codes the interactive users got, reported beside the timings.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class InteractiveResponses {
+        public long interactiveOk;
+        public long interactiveRateLimited;
+        public long interactiveShed;
+        public long interactiveOther;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            interactiveOk = 0;
+            interactiveRateLimited = 0;
+            interactiveShed = 0;
+            interactiveOther = 0;
+        }
+
+        int count(int status) {
+            switch (status) {
+                case 200 -> interactiveOk++;
+                case 429 -> interactiveRateLimited++;
+                case 503 -> interactiveShed++;
+                default -> interactiveOther++;
+            }
+            return status;
+        }
+    }
+}
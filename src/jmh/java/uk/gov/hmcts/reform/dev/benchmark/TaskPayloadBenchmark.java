@@ -0,0 +1,153 @@
+package uk.gov.hmcts.reform.dev.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import uk.gov.hmcts.reform.dev.dto.TaskField;
+import uk.gov.hmcts.reform.dev.dto.TaskPageDto;
+import uk.gov.hmcts.reform.dev.dto.TaskProjectedPageDto;
+import uk.gov.hmcts.reform.dev.dto.TaskResponseDto;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialisation CPU and encoded size for a 1,000-task list in three shapes: the
+ * previous representation with nulls written out, the current compact one, and an
+ * {@code fields=id,status} projection, each with and without gzip. JMH only times the
+ * calls, so the bytes written are added up in {@link Encoded} and land in the results beside
+ * the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskPayloadBenchmark {
+
+    private static final int TASKS = 1_000;
+
+    private ObjectWriter includeNullsWriter;
+    private ObjectWriter compactWriter;
+    private ObjectWriter projectedWriter;
+    private TaskPageDto page;
+    private Set<TaskField> idAndStatus;
+
+    @JsonInclude(JsonInclude.Include.ALWAYS)
+    abstract static class IncludeNulls {
+    }
+
+    /**
+     * Secondary results: {@code encodedBytes} divided by {@code encodings} is the size of one
+     * response in that shape.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Encoded {
+        public long encodedBytes;
+        public long encodings;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            encodedBytes = 0;
+            encodings = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper compactMapper = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper includeNullsMapper = Jackson2ObjectMapperBuilder.json()
+            .mixIn(TaskResponseDto.class, IncludeNulls.class)
+            .build();
+        compactWriter = compactMapper.writerFor(TaskPageDto.class);
+        includeNullsWriter = includeNullsMapper.writerFor(TaskPageDto.class);
+        projectedWriter = compactMapper.writerFor(TaskProjectedPageDto.class);
+        idAndStatus = TaskField.parse("id,status");
+
+        LocalDateTime dueBase = LocalDateTime.now().plusDays(1);
+        List<TaskResponseDto> items = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            // A third without a description or due date, as in the seeded data
+            boolean sparse = i % 3 == 0;
+            items.add(new TaskResponseDto((long) i, "Task number " + i,
+                                          sparse ? null : "Benchmark task " + i + " with a typical description",
+                                          sparse ? TaskStatus.COMPLETED : TaskStatus.OPEN,
+                                          sparse ? null : dueBase.plusMinutes(i), 0L));
+        }
+        page = new TaskPageDto(items, "aWR8MTAwMA");
+    }
+
+    @Benchmark
+    public byte[] includeNulls(Encoded encoded) throws IOException {
+        return count(encoded, writeIncludeNulls());
+    }
+
+    @Benchmark
+    public byte[] compact(Encoded encoded) throws IOException {
+        return count(encoded, writeCompact());
+    }
+
+    @Benchmark
+    public byte[] projected(Encoded encoded) throws IOException {
+        return count(encoded, writeProjected());
+    }
+
+    @Benchmark
+    public byte[] includeNullsGzip(Encoded encoded) throws IOException {
+        return count(encoded, gzip(writeIncludeNulls()));
+    }
+
+    @Benchmark
+    public byte[] compactGzip(Encoded encoded) throws IOException {
+        return count(encoded, gzip(writeCompact()));
+    }
+
+    @Benchmark
+    public byte[] projectedGzip(Encoded encoded) throws IOException {
+        return count(encoded, gzip(writeProjected()));
+    }
+
+    private byte[] writeIncludeNulls() throws IOException {
+        return includeNullsWriter.writeValueAsBytes(page);
+    }
+
+    private byte[] writeCompact() throws IOException {
+        return compactWriter.writeValueAsBytes(page);
+    }
+
+    private byte[] writeProjected() throws IOException {
+        return projectedWriter.writeValueAsBytes(new TaskProjectedPageDto(
+            page.getItems().stream().map(task -> TaskField.project(task, idAndStatus)).toList(),
+            page.getNextCursor()));
+    }
+
+    private static byte[] count(Encoded encoded, byte[] body) {
+        encoded.encodedBytes += body.length;
+        encoded.encodings++;
+        return body;
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,148 @@
+package uk.gov.hmcts.reform.dev.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import uk.gov.hmcts.reform.dev.dto.TaskSearchPageDto;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+import uk.gov.hmcts.reform.dev.search.TaskSearchIndex;
+import uk.gov.hmcts.reform.dev.services.TaskSearchService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page of a search through the in-memory index (ranking plus loading the page's
+ * rows) against a LIKE scan of the table for the same words.
+ *
+ * <p>Words are drawn from a skewed vocabulary, so {@code common} matches a large share of
+ * tasks, {@code rare} a handful and {@code pair} is two mid-frequency words together.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskSearchBenchmark {
+
+    private static final int VOCABULARY = 5000;
+    private static final int PAGE_SIZE = 20;
+    private static final int SEED_CHUNK = 1000;
+    private static final Map<String, String> QUERIES = Map.of(
+        "common", word(0),
+        "rare", word(VOCABULARY - 1),
+        "pair", word(40) + " " + word(90)
+    );
+
+    @Param({"100000", "1000000"})
+    private int rows;
+
+    @Param({"common", "rare", "pair"})
+    private String query;
+
+    private ConfigurableApplicationContext context;
+    private TaskSearchService searchService;
+    private JdbcTemplate jdbcTemplate;
+    private String terms;
+    private String likeSql;
+    private Object[] likeArguments;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        String database = "search" + rows;
+        ConfigurableApplicationContext seeding = BenchmarkApplication.start(database, WebApplicationType.NONE);
+        seed(seeding.getBean(TaskRepository.class));
+        seeding.close();
+
+        // The index loads once the application is ready, so start again over the seeded database
+        context = BenchmarkApplication.start(database, WebApplicationType.NONE);
+        TaskSearchIndex index = context.getBean(TaskSearchIndex.class);
+        while (!index.isReady()) {
+            Thread.sleep(50);
+        }
+        searchService = context.getBean(TaskSearchService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        terms = QUERIES.get(query);
+        StringJoiner where = new StringJoiner(" AND ");
+        List<Object> arguments = new ArrayList<>();
+        for (String term : terms.split(" ")) {
+            where.add("(LOWER(title) LIKE ? OR LOWER(description) LIKE ?)");
+            arguments.add("%" + term + "%");
+            arguments.add("%" + term + "%");
+        }
+        likeSql = "SELECT id, title, description, status, due_date, version FROM tasks WHERE " + where
+            + " ORDER BY id FETCH FIRST " + PAGE_SIZE + " ROWS ONLY";
+        likeArguments = arguments.toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskSearchPageDto indexedSearch() {
+        return searchService.search(terms, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> likeScan() {
+        return jdbcTemplate.queryForList(likeSql, likeArguments);
+    }
+
+    private void seed(TaskRepository repository) {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime dueBase = LocalDateTime.now().plusDays(1);
+        List<Task> chunk = new ArrayList<>(SEED_CHUNK);
+        for (int i = 0; i < rows; i++) {
+            Task task = new Task();
+            task.setTitle(words(random, 4));
+            task.setDescription(words(random, 12));
+            task.setStatus(TaskStatus.OPEN);
+            task.setDueDate(dueBase.plusMinutes(i));
+            chunk.add(task);
+            if (chunk.size() == SEED_CHUNK) {
+                repository.saveAll(chunk);
+                chunk.clear();
+            }
+        }
+        repository.saveAll(chunk);
+    }
+
+    private static String words(SplittableRandom random, int count) {
+        StringJoiner text = new StringJoiner(" ");
+        for (int i = 0; i < count; i++) {
+            // Cubing a uniform draw skews towards low ranks, roughly like word frequencies in real text
+            double uniform = random.nextDouble();
+            text.add(word((int) (uniform * uniform * uniform * VOCABULARY)));
+        }
+        return text.toString();
+    }
+
+    // Fixed width, so no word is a substring of another and LIKE matches the same tasks as the index
+    private static String word(int rank) {
+        StringBuilder word = new StringBuilder("w");
+        int value = rank;
+        for (int i = 0; i < 3; i++) {
+            word.append((char) ('a' + value % 26));
+            value /= 26;
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,62 @@
+package uk.gov.hmcts.reform.dev.benchmark;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import uk.gov.hmcts.reform.dev.dto.TaskRequestDto;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation of TaskRequestDto, for a request that passes and one that fails
+ * every constraint (the failing path builds messages and is noticeably dearer).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskValidationBenchmark {
+
+    private ValidatorFactory factory;
+    private Validator validator;
+    private TaskRequestDto valid;
+    private TaskRequestDto invalid;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+        valid = new TaskRequestDto(
+            "Valid title", "Description", TaskStatus.OPEN, LocalDateTime.now().plusDays(1), null);
+        // Status is an enum now, so it has no constraint left to break: three violations
+        invalid = new TaskRequestDto("x", "d".repeat(501), TaskStatus.OPEN,
+                                     LocalDateTime.now().minusDays(1), null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        factory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<TaskRequestDto>> validateValidRequest() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<TaskRequestDto>> validateInvalidRequest() {
+        return validator.validate(invalid);
+    }
+}
@@ -0,0 +1,195 @@
+package uk.gov.hmcts.reform.dev.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.config.TaskArchiveProperties;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+import uk.gov.hmcts.reform.dev.repositories.TaskArchiveRepository;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static uk.gov.hmcts.reform.dev.config.TaskCacheConfig.TASKS_CACHE;
+
+/**
+ * Moves tasks that have been completed or cancelled for longer than {@code archive-after}, and tasks
+ * deleted longer ago than {@code purge-deleted-after}, from {@code tasks} to {@code tasks_archive},
+ * on a single background thread every {@code interval}.
+ *
+ * <p>Each chunk of {@code chunk-size} rows is locked, copied and deleted in its own short transaction,
+ * skipping rows that a request has locked, with {@code chunk-pause} between chunks. A failed chunk
+ * rolls back whole and is tried again on the next run. Archiving a live task is published as a
+ * {@code DELETED} change, since it has left the table every other reader works from.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "tasks.archive", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TaskArchiver implements SmartLifecycle {
+
+    private static final List<String> FINISHED_STATUSES = Arrays.stream(TaskStatus.values())
+        .filter(TaskStatus::isTerminal)
+        .map(TaskStatus::name)
+        .toList();
+
+    private final TaskArchiveRepository archiveRepository;
+    private final TaskArchiveProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<CacheManager> cacheManager;
+    private final AtomicLong movedThisRun = new AtomicLong();
+    private final Counter archivedFinished;
+    private final Counter archivedDeleted;
+    private final Counter failures;
+    private final Timer chunkTime;
+    private ScheduledExecutorService scheduler;
+
+    public TaskArchiver(TaskArchiveRepository archiveRepository, TaskArchiveProperties properties,
+                        PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+                        ObjectProvider<CacheManager> cacheManager, MeterRegistry meterRegistry) {
+        this.archiveRepository = archiveRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        Gauge.builder("tasks.archive.run.moved", movedThisRun, AtomicLong::doubleValue)
+            .description("Tasks moved to the archive so far by the current or last run")
+            .register(meterRegistry);
+        this.archivedFinished = archived(meterRegistry, "finished");
+        this.archivedDeleted = archived(meterRegistry, "deleted");
+        this.failures = Counter.builder("tasks.archive.failures")
+            .description("Archiver runs that failed and will be retried")
+            .register(meterRegistry);
+        this.chunkTime = Timer.builder("tasks.archive.chunk")
+            .description("Time to move one chunk, which is how long its rows stay locked")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Archives everything that is due, chunk by chunk, and returns how many tasks were moved.
+     */
+    public int archivePending() {
+        LocalDateTime now = LocalDateTime.now();
+        movedThisRun.set(0);
+        int moved = drain(false, now.minus(properties.getArchiveAfter()), now);
+        if (!Thread.currentThread().isInterrupted()) {
+            moved += drain(true, now.minus(properties.getPurgeDeletedAfter()), now);
+        }
+        return moved;
+    }
+
+    private int drain(boolean deleted, LocalDateTime cutoff, LocalDateTime now) {
+        int total = 0;
+        int moved;
+        do {
+            long started = System.nanoTime();
+            moved = transactionTemplate.execute(status -> moveChunk(deleted, cutoff, now));
+            chunkTime.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            total += moved;
+            movedThisRun.addAndGet(moved);
+            (deleted ? archivedDeleted : archivedFinished).increment(moved);
+        } while (moved == properties.getChunkSize() && pause());
+        return total;
+    }
+
+    private int moveChunk(boolean deleted, LocalDateTime cutoff, LocalDateTime now) {
+        List<Long> ids = deleted
+            ? archiveRepository.lockDeletedBefore(cutoff, properties.getChunkSize())
+            : archiveRepository.lockFinishedBefore(FINISHED_STATUSES, cutoff, properties.getChunkSize());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archiveRepository.copyToArchive(ids, now);
+        archiveRepository.deleteFromTasks(ids);
+        // Deleted tasks already left the cache, the counters and the change feed when they were deleted
+        if (!deleted) {
+            CacheManager manager = cacheManager.getIfAvailable();
+            Cache cache = manager == null ? null : manager.getCache(TASKS_CACHE);
+            for (Long id : ids) {
+                eventPublisher.publishEvent(TaskChangedEvent.deleted(id));
+                if (cache != null) {
+                    cache.evict(id);
+                }
+            }
+        }
+        return ids.size();
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getChunkPause());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void runSafely() {
+        try {
+            int moved = archivePending();
+            if (moved > 0) {
+                log.info("Archived {} tasks", moved);
+            }
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Task archiver failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        long interval = properties.getInterval().toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("task-archiver").daemon().factory()
+        );
+        scheduler.scheduleWithFixedDelay(this::runSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        // Interrupting a run stops it between chunks; the chunk in progress commits or rolls back whole
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(properties.getChunkPause().toMillis() + 5_000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        scheduler = null;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    private static Counter archived(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("tasks.archive.moved")
+            .description("Tasks moved to the archive, by why they were due")
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+}
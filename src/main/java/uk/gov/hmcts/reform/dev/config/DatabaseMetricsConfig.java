@@ -0,0 +1,63 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import uk.gov.hmcts.reform.dev.metrics.DatabaseQueryMetrics;
+import uk.gov.hmcts.reform.dev.metrics.DatabaseRoundTripFilter;
+import uk.gov.hmcts.reform.dev.metrics.SlowQueryLogger;
+
+import javax.sql.DataSource;
+
+@Configuration(proxyBeanMethods = false)
+public class DatabaseMetricsConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public static DatabaseQueryMetrics databaseQueryMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new DatabaseQueryMetrics(meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "tasks.slow-query", name = "enabled", havingValue = "true")
+    public static SlowQueryLogger slowQueryLogger(SlowQueryProperties properties) {
+        return new SlowQueryLogger(properties);
+    }
+
+    /**
+     * Wraps the application DataSource in a datasource-proxy that notifies every
+     * {@link QueryExecutionListener} bean. The proxy still unwraps to Hikari, so the
+     * pool metrics Boot binds (active, pending, acquire time) are unaffected.
+     */
+    @Bean
+    public static BeanPostProcessor dataSourceListenerPostProcessor(ObjectProvider<QueryExecutionListener> listeners) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource dataSource)
+                    || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource).name(DATA_SOURCE_BEAN);
+                listeners.orderedStream().forEach(builder::listener);
+                return builder.build();
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<DatabaseRoundTripFilter> databaseRoundTripFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<DatabaseRoundTripFilter> registration =
+            new FilterRegistrationBean<>(new DatabaseRoundTripFilter(meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,85 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.support.BindingReflectionHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import uk.gov.hmcts.reform.dev.datasource.ReadYourWrites;
+import uk.gov.hmcts.reform.dev.dto.TaskBatchItemResultDto;
+import uk.gov.hmcts.reform.dev.dto.TaskBatchResultDto;
+import uk.gov.hmcts.reform.dev.dto.TaskFilterDto;
+import uk.gov.hmcts.reform.dev.dto.TaskPageDto;
+import uk.gov.hmcts.reform.dev.dto.TaskProjectedPageDto;
+import uk.gov.hmcts.reform.dev.dto.TaskRequestDto;
+import uk.gov.hmcts.reform.dev.dto.TaskResponseDto;
+import uk.gov.hmcts.reform.dev.dto.TaskSearchHitDto;
+import uk.gov.hmcts.reform.dev.dto.TaskSearchPageDto;
+import uk.gov.hmcts.reform.dev.dto.TaskStatsDto;
+import uk.gov.hmcts.reform.dev.dto.TaskStatusUpdateDto;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.exception.ErrorResponse;
+import uk.gov.hmcts.reform.dev.models.ArchivedTask;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskIdempotencyKey;
+import uk.gov.hmcts.reform.dev.models.TaskOutboxEvent;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeImageConfig.TaskRuntimeHints.class)
+public class NativeImageConfig {
+
+    /**
+     * What a native image needs beyond what Spring's AOT processing works out from the beans and
+     * controller signatures. Only read at build time, so it costs nothing on the JVM.
+     */
+    static class TaskRuntimeHints implements RuntimeHintsRegistrar {
+
+        // Written or read by Jackson, including off the controller path: the change feed, the outbox,
+        // error bodies from filters and ResponseEntity<?> returns that AOT cannot see through
+        static final List<Class<?>> JSON_TYPES = List.of(
+            TaskRequestDto.class, TaskStatusUpdateDto.class, TaskFilterDto.class, TaskResponseDto.class,
+            TaskPageDto.class, TaskProjectedPageDto.class, TaskSearchPageDto.class, TaskSearchHitDto.class,
+            TaskBatchResultDto.class, TaskBatchItemResultDto.class, TaskStatsDto.class, TaskChangedEvent.class,
+            ErrorResponse.class
+        );
+
+        // Hibernate Validator reads constraints off the fields
+        static final List<Class<?>> VALIDATED_TYPES = List.of(
+            TaskRequestDto.class, TaskStatusUpdateDto.class, TaskFilterDto.class
+        );
+
+        static final List<Class<?>> ENTITIES = List.of(
+            Task.class, ArchivedTask.class, TaskOutboxEvent.class, TaskIdempotencyKey.class
+        );
+
+        // datasource-proxy wraps each JDBC object in a JDK proxy, which a native image has to know up front
+        static final List<Class<?>> JDBC_PROXIED = List.of(
+            Connection.class, Statement.class, PreparedStatement.class, CallableStatement.class, ResultSet.class
+        );
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+            JSON_TYPES.forEach(type -> bindings.registerReflectionHints(hints.reflection(), type));
+            VALIDATED_TYPES.forEach(type -> hints.reflection().registerType(type, MemberCategory.DECLARED_FIELDS));
+            ENTITIES.forEach(type -> hints.reflection().registerType(
+                type, MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_DECLARED_METHODS));
+            // The lenient @JsonCreator
+            hints.reflection().registerType(TaskStatus.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+            // Called from the SpEL condition on TaskService.getTaskById
+            hints.reflection().registerType(ReadYourWrites.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+            JDBC_PROXIED.forEach(type -> hints.proxies().registerJdkProxy(ProxyJdbcObject.class, type));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import uk.gov.hmcts.reform.dev.datasource.ReadReplicaRoutingDataSource;
+import uk.gov.hmcts.reform.dev.datasource.ReadYourWritesFilter;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+
+/**
+ * Replaces Boot's single DataSource with one that routes read-only transactions to the
+ * replicas under {@code tasks.read-replicas}. The primary pool is still configured through
+ * {@code spring.datasource}; Flyway and every read-write transaction use it.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "tasks.read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                                     DataSourceProperties dataSourceProperties,
+                                                                     ReadReplicaProperties replicaProperties,
+                                                                     MeterRegistry meterRegistry) {
+        List<HikariDataSource> pools = new ArrayList<>();
+        List<ReadReplicaProperties.Instance> instances = replicaProperties.getInstances();
+        for (int index = 0; index < instances.size(); index++) {
+            ReadReplicaProperties.Instance instance = instances.get(index);
+            HikariDataSource pool = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(dataSourceProperties.determineDriverClassName())
+                .url(instance.getUrl())
+                .username(instance.getUsername() == null
+                              ? dataSourceProperties.determineUsername() : instance.getUsername())
+                .password(instance.getPassword() == null
+                              ? dataSourceProperties.determinePassword() : instance.getPassword())
+                .build();
+            pool.setPoolName(primaryDataSource.getPoolName() + "-replica-" + index);
+            pool.setMaximumPoolSize(replicaProperties.getMaximumPoolSize() == null
+                                        ? primaryDataSource.getMaximumPoolSize()
+                                        : replicaProperties.getMaximumPoolSize());
+            pool.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+            pool.setReadOnly(true);
+            // Replica pools are not beans, so Boot does not bind their metrics for us
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.add(pool);
+        }
+        return new ReadReplicaRoutingDataSource(primaryDataSource, pools, replicaProperties.getLagQuery(),
+                                                replicaProperties.getMaxLag(),
+                                                replicaProperties.getHealthCheckInterval(), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readReplicaRoutingDataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReadReplicaProperties properties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(
+            new ReadYourWritesFilter(properties.getStickiness(), Clock.systemUTC()));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
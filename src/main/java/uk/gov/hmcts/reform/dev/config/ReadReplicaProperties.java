@@ -0,0 +1,55 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tasks.read-replicas")
+public class ReadReplicaProperties {
+
+    private boolean enabled = false;
+
+    private List<Instance> instances = new ArrayList<>();
+
+    /**
+     * Pool size per replica; defaults to the primary pool size.
+     */
+    private Integer maximumPoolSize;
+
+    /**
+     * How long a client keeps reading from the primary after its own write, so it never
+     * reads a replica that has not caught up with it yet.
+     */
+    private Duration stickiness = Duration.ofSeconds(5);
+
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * Replicas further behind than this are taken out of rotation until they catch up.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * Query returning the replica's lag in seconds. Without one replicas are only checked for
+     * being reachable.
+     */
+    private String lagQuery;
+
+    @Getter
+    @Setter
+    public static class Instance {
+        private String url;
+
+        /**
+         * Defaults to the primary's credentials.
+         */
+        private String username;
+        private String password;
+    }
+}
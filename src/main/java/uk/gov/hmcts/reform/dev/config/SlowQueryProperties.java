@@ -0,0 +1,25 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tasks.slow-query")
+public class SlowQueryProperties {
+
+    private boolean enabled;
+
+    /**
+     * Statements taking at least this long are always logged.
+     */
+    private Duration threshold = Duration.ofMillis(200);
+
+    /**
+     * Fraction of faster statements logged as a baseline, between 0 and 1.
+     */
+    private double sampleRate = 0.001;
+}
@@ -0,0 +1,52 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+@Configuration(proxyBeanMethods = false)
+public class StartupConfig {
+
+    static final String LAZY_PACKAGES = "tasks.startup.lazy-packages";
+
+    /**
+     * Makes the beans declared in {@code tasks.startup.lazy-packages} (springdoc by default) lazy, so they
+     * are built on first use, e.g. the first {@code /v3/api-docs} request, instead of before the service can
+     * take traffic. This runs before any properties bean exists, so the list is bound straight from the
+     * Environment. In an AOT build the flags are fixed when the jar is built.
+     */
+    @Bean
+    public static BeanFactoryPostProcessor lazyNonCriticalBeans(Environment environment) {
+        List<String> packages = Binder.get(environment)
+            .bind(LAZY_PACKAGES, Bindable.listOf(String.class))
+            .orElse(List.of());
+        return beanFactory -> markLazy(beanFactory, packages);
+    }
+
+    static void markLazy(ConfigurableListableBeanFactory beanFactory, List<String> packages) {
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            String declaringClass = declaringClass(definition);
+            if (declaringClass != null && definition.getRole() != BeanDefinition.ROLE_INFRASTRUCTURE
+                && packages.stream().anyMatch(prefix -> declaringClass.startsWith(prefix + '.'))) {
+                definition.setLazyInit(true);
+            }
+        }
+    }
+
+    // @Bean methods on non-static configuration have no bean class name, only the class they are declared in
+    private static String declaringClass(BeanDefinition definition) {
+        if (definition instanceof AnnotatedBeanDefinition annotated && annotated.getFactoryMethodMetadata() != null) {
+            return annotated.getFactoryMethodMetadata().getDeclaringClassName();
+        }
+        return definition.getBeanClassName();
+    }
+}
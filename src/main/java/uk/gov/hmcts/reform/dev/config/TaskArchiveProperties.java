@@ -0,0 +1,40 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tasks.archive")
+public class TaskArchiveProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * How long a task stays completed or cancelled before it is archived.
+     */
+    private Duration archiveAfter = Duration.ofDays(90);
+
+    /**
+     * How long a deleted task can still be restored from the tasks table before it is archived.
+     */
+    private Duration purgeDeletedAfter = Duration.ofDays(30);
+
+    /**
+     * Delay between archiver runs. A run keeps going, chunk by chunk, until nothing is left to move.
+     */
+    private Duration interval = Duration.ofHours(1);
+
+    /**
+     * Tasks moved per transaction. Smaller chunks hold their row locks for less time.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Pause between chunks, so a large backlog does not monopolise the database.
+     */
+    private Duration chunkPause = Duration.ofMillis(100);
+}
@@ -0,0 +1,21 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tasks.batch")
+public class TaskBatchProperties {
+
+    /**
+     * Largest number of items accepted in one batch request.
+     */
+    private int maxItems = 1000;
+
+    /**
+     * Rows flushed per JDBC batch. Keep in line with hibernate.jdbc.batch_size.
+     */
+    private int chunkSize = 50;
+}
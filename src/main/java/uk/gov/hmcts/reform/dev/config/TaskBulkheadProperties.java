@@ -0,0 +1,29 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tasks.bulkhead")
+public class TaskBulkheadProperties {
+
+    /**
+     * Switched on with virtual threads; on platform threads the Tomcat pool already bounds concurrency.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Task service calls allowed to run at once. Keep this at or below the connection
+     * pool size, otherwise the surplus calls just queue inside Hikari holding a thread.
+     */
+    private int maxConcurrentCalls = 10;
+
+    /**
+     * How long a call waits for a slot before the request is turned away with a 503.
+     */
+    private Duration maxWait = Duration.ofSeconds(2);
+}
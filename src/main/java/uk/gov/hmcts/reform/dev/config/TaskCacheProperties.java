@@ -0,0 +1,25 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tasks.cache")
+public class TaskCacheProperties {
+
+    /**
+     * Set to false to serve every single-task read from the database.
+     */
+    private boolean enabled = true;
+
+    private long maximumSize = 10_000;
+
+    /**
+     * Upper bound on staleness for changes made outside this instance.
+     */
+    private Duration timeToLive = Duration.ofSeconds(60);
+}
@@ -0,0 +1,20 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tasks.coalescing")
+public class TaskCoalescingProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * How long a call waits for an identical one already running before it runs its own query.
+     */
+    private Duration maxWait = Duration.ofSeconds(2);
+}
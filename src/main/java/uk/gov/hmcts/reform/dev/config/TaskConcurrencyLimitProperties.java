@@ -0,0 +1,32 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tasks.concurrency-limit")
+public class TaskConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Task service calls allowed in flight before any latency has been measured.
+     */
+    private int initialLimit = 20;
+
+    private int minLimit = 5;
+
+    private int maxLimit = 200;
+
+    /**
+     * How many times the baseline latency is tolerated before the limit starts to shrink.
+     */
+    private double tolerance = 2.0;
+
+    /**
+     * Weight of each new estimate in the limit, between 0 and 1. Higher reacts faster.
+     */
+    private double smoothing = 0.2;
+}
@@ -0,0 +1,35 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tasks.events")
+public class TaskEventsProperties {
+
+    /**
+     * Recent events kept in memory so a reconnecting client can resume from Last-Event-ID.
+     */
+    private int bufferSize = 1024;
+
+    /**
+     * Events queued for a single subscriber before it is treated as too slow and dropped.
+     */
+    private int subscriberQueueCapacity = 256;
+
+    private int maxSubscribers = 10_000;
+
+    /**
+     * Comment lines sent to idle streams so proxies and load balancers keep them open.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /**
+     * Streams are closed after this long; browsers reconnect on their own with Last-Event-ID.
+     */
+    private Duration emitterTimeout = Duration.ofMinutes(30);
+}
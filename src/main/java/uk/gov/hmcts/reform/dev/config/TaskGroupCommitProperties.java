@@ -0,0 +1,37 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tasks.group-commit")
+public class TaskGroupCommitProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Creates waiting to be written. When it is full, requests write their own transaction instead.
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Most creates committed together. Must not exceed tasks.batch.max-items, which is checked at
+     * startup.
+     */
+    private int maxBatchSize = 200;
+
+    /**
+     * How long the writer holds a group open for more creates once the first has arrived.
+     */
+    private Duration maxDelay = Duration.ofMillis(2);
+
+    /**
+     * How long a request waits for its group to commit before answering 503. One whose group has
+     * already started waits up to this long again.
+     */
+    private Duration awaitTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,57 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import uk.gov.hmcts.reform.dev.idempotency.DatabaseIdempotencyStore;
+import uk.gov.hmcts.reform.dev.idempotency.IdempotencyFilter;
+import uk.gov.hmcts.reform.dev.idempotency.IdempotencyStore;
+import uk.gov.hmcts.reform.dev.idempotency.InMemoryIdempotencyStore;
+import uk.gov.hmcts.reform.dev.ratelimit.ClientIdentity;
+import uk.gov.hmcts.reform.dev.repositories.TaskIdempotencyKeyRepository;
+
+import java.time.Clock;
+
+/**
+ * Handles {@code Idempotency-Key} on task writes, with keys kept in the store chosen by
+ * {@code tasks.idempotency.store}. Keys are scoped to the client as the rate limiter identifies
+ * it, by {@code tasks.rate-limit.client-header}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "tasks.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TaskIdempotencyConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(IdempotencyStore.class)
+    public IdempotencyStore idempotencyStore(TaskIdempotencyProperties properties,
+                                             TaskIdempotencyKeyRepository repository,
+                                             PlatformTransactionManager transactionManager,
+                                             ObjectMapper objectMapper) {
+        return switch (properties.getStore()) {
+            case MEMORY -> new InMemoryIdempotencyStore(properties.getMaximumKeys(), properties.getTimeToLive());
+            case DATABASE -> new DatabaseIdempotencyStore(repository, transactionManager, objectMapper,
+                                                          properties.getTimeToLive(), properties.getClaimTimeout(),
+                                                          properties.getPurgeInterval(), Clock.systemUTC());
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(TaskIdempotencyProperties properties,
+                                                                       TaskRateLimitProperties rateLimitProperties,
+                                                                       IdempotencyStore idempotencyStore,
+                                                                       ObjectMapper objectMapper,
+                                                                       MeterRegistry meterRegistry) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+            new IdempotencyFilter(idempotencyStore, objectMapper, properties.getInFlightWait(),
+                                  properties.getMaxKeyLength(), properties.getMaxRequestSize().toBytes(),
+                                  properties.getMaxResponseSize().toBytes(),
+                                  new ClientIdentity(rateLimitProperties.getClientHeader()), meterRegistry));
+        registration.addUrlPatterns("/api/tasks/*");
+        return registration;
+    }
+}
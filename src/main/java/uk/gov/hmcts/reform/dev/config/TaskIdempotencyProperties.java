@@ -0,0 +1,62 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tasks.idempotency")
+public class TaskIdempotencyProperties {
+
+    public enum Store {
+        MEMORY,
+        DATABASE
+    }
+
+    private boolean enabled = true;
+
+    /**
+     * MEMORY keeps keys per instance; DATABASE shares them between instances.
+     */
+    private Store store = Store.MEMORY;
+
+    /**
+     * How long a recorded response is replayed for.
+     */
+    private Duration timeToLive = Duration.ofHours(24);
+
+    /**
+     * Keys the MEMORY store holds before evicting the least recently used.
+     */
+    private long maximumKeys = 100_000;
+
+    /**
+     * How long a repeat waits for the original to finish on this instance before getting a 409.
+     */
+    private Duration inFlightWait = Duration.ofSeconds(10);
+
+    /**
+     * Age after which the DATABASE store treats an unfinished request as abandoned and lets a
+     * repeat run it again.
+     */
+    private Duration claimTimeout = Duration.ofMinutes(1);
+
+    private Duration purgeInterval = Duration.ofMinutes(10);
+
+    private int maxKeyLength = 255;
+
+    /**
+     * Larger requests carrying a key are rejected with a 413, as their bodies are held in memory
+     * to fingerprint them. Leaves room for a full batch.
+     */
+    private DataSize maxRequestSize = DataSize.ofMegabytes(1);
+
+    /**
+     * Larger responses are not recorded, so repeats of them run again.
+     */
+    private DataSize maxResponseSize = DataSize.ofKilobytes(256);
+}
@@ -0,0 +1,29 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import uk.gov.hmcts.reform.dev.outbox.FileTaskOutboxSink;
+import uk.gov.hmcts.reform.dev.outbox.InMemoryTaskOutboxSink;
+import uk.gov.hmcts.reform.dev.outbox.LoggingTaskOutboxSink;
+import uk.gov.hmcts.reform.dev.outbox.TaskOutboxSink;
+
+/**
+ * Picks the outbox sink from {@code tasks.outbox.sink}. Declaring a {@link TaskOutboxSink}
+ * bean elsewhere, e.g. for a real broker, replaces all of these.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "tasks.outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TaskOutboxConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(TaskOutboxSink.class)
+    public TaskOutboxSink taskOutboxSink(TaskOutboxProperties properties) {
+        return switch (properties.getSink()) {
+            case LOG -> new LoggingTaskOutboxSink();
+            case FILE -> new FileTaskOutboxSink(properties.getFile());
+            case MEMORY -> new InMemoryTaskOutboxSink(properties.getMemoryCapacity());
+        };
+    }
+}
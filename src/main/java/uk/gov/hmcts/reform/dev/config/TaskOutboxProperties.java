@@ -0,0 +1,44 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tasks.outbox")
+public class TaskOutboxProperties {
+
+    public enum Sink {
+        LOG,
+        FILE,
+        MEMORY
+    }
+
+    private boolean enabled = true;
+
+    /**
+     * Outbox rows handed to the sink per transaction.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Delay between relay runs. A run keeps draining batches until the outbox is empty.
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    private Sink sink = Sink.LOG;
+
+    /**
+     * NDJSON file appended to by the FILE sink.
+     */
+    private Path file = Path.of("task-outbox.ndjson");
+
+    /**
+     * Events the MEMORY sink holds before it starts refusing batches.
+     */
+    private int memoryCapacity = 10_000;
+}
@@ -0,0 +1,21 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tasks.pagination")
+public class TaskPaginationProperties {
+
+    /**
+     * Page size used when the client does not ask for one.
+     */
+    private int defaultPageSize = 50;
+
+    /**
+     * Hard upper bound on a single page, whatever the client asks for.
+     */
+    private int maxPageSize = 200;
+}
@@ -0,0 +1,32 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import uk.gov.hmcts.reform.dev.ratelimit.ClientIdentity;
+import uk.gov.hmcts.reform.dev.ratelimit.RateLimitFilter;
+import uk.gov.hmcts.reform.dev.ratelimit.TokenBucketRateLimiter;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "tasks.rate-limit", name = "enabled", havingValue = "true")
+public class TaskRateLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(TaskRateLimitProperties properties,
+                                                                   ObjectMapper objectMapper,
+                                                                   MeterRegistry meterRegistry) {
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(
+            properties.getRequestsPerSecond(), properties.getBurst(), properties.getMaximumClients());
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+            new RateLimitFilter(rateLimiter, objectMapper, new ClientIdentity(properties.getClientHeader()),
+                                meterRegistry));
+        registration.addUrlPatterns("/api/tasks/*");
+        // Ahead of the other task filters, so a rejected request costs as little as possible
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 100);
+        return registration;
+    }
+}
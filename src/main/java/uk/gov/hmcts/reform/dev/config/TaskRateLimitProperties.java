@@ -0,0 +1,36 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tasks.rate-limit")
+public class TaskRateLimitProperties {
+
+    private boolean enabled;
+
+    /**
+     * Sustained requests per second allowed for each client.
+     */
+    private double requestsPerSecond = 50;
+
+    /**
+     * Requests a client that has been idle may send at once.
+     */
+    private int burst = 100;
+
+    /**
+     * Header identifying the client. Requests without it are limited by remote address. Also
+     * scopes idempotency keys, whether or not rate limiting is on.
+     */
+    private String clientHeader = "X-Client-Id";
+
+    /**
+     * Clients tracked at once; the least recently seen are forgotten first.
+     */
+    private long maximumClients = 100_000;
+}
@@ -0,0 +1,25 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tasks.search")
+public class TaskSearchProperties {
+
+    /**
+     * How often the index is rebuilt from the database, which picks up writes made by other
+     * instances. Also the longest wait between retries of a load that failed.
+     */
+    private Duration rebuildInterval = Duration.ofMinutes(5);
+
+    /**
+     * How far into the ranking a client can page. Each page has to rank everything before it,
+     * so deeper pages cost more.
+     */
+    private int maxResults = 1000;
+}
@@ -0,0 +1,19 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tasks.stats")
+public class TaskStatsProperties {
+
+    /**
+     * How often the counters are rebuilt from the database to correct any drift, e.g. from
+     * writes made by other instances.
+     */
+    private Duration reconcileInterval = Duration.ofMinutes(5);
+}
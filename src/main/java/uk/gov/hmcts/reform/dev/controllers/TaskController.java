@@ -1,49 +1,158 @@
 package uk.gov.hmcts.reform.dev.controllers;
 
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import uk.gov.hmcts.reform.dev.dto.TaskBatchResultDto;
+import uk.gov.hmcts.reform.dev.dto.TaskField;
+import uk.gov.hmcts.reform.dev.dto.TaskFilterDto;
+import uk.gov.hmcts.reform.dev.dto.TaskPageDto;
+import uk.gov.hmcts.reform.dev.dto.TaskProjectedPageDto;
 import uk.gov.hmcts.reform.dev.dto.TaskRequestDto;
 import uk.gov.hmcts.reform.dev.dto.TaskResponseDto;
+import uk.gov.hmcts.reform.dev.dto.TaskSearchPageDto;
+import uk.gov.hmcts.reform.dev.dto.TaskStatsDto;
+import uk.gov.hmcts.reform.dev.dto.TaskStatusUpdateDto;
+import uk.gov.hmcts.reform.dev.events.TaskEventStream;
+import uk.gov.hmcts.reform.dev.exception.InvalidRequestException;
+import uk.gov.hmcts.reform.dev.idempotency.IdempotencyFilter;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+import uk.gov.hmcts.reform.dev.services.TaskArchiveService;
+import uk.gov.hmcts.reform.dev.services.TaskBatchService;
+import uk.gov.hmcts.reform.dev.services.TaskExportService;
+import uk.gov.hmcts.reform.dev.services.TaskGroupCommitWriter;
+import uk.gov.hmcts.reform.dev.services.TaskSearchService;
 import uk.gov.hmcts.reform.dev.services.TaskService;
+import uk.gov.hmcts.reform.dev.stats.TaskStatistics;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/tasks")
-@CrossOrigin(origins = "http://localhost:3000")
+@CrossOrigin(origins = "http://localhost:3000",
+    exposedHeaders = {HttpHeaders.ETAG, IdempotencyFilter.REPLAYED_HEADER})
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskExportService taskExportService;
+    private final TaskBatchService taskBatchService;
+    private final TaskEventStream taskEventStream;
+    private final TaskSearchService taskSearchService;
+    private final TaskStatistics taskStatistics;
+    private final TaskArchiveService taskArchiveService;
+    // Null unless tasks.group-commit.enabled
+    private final TaskGroupCommitWriter groupCommitWriter;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskExportService taskExportService,
+                          TaskBatchService taskBatchService, TaskEventStream taskEventStream,
+                          TaskSearchService taskSearchService, TaskStatistics taskStatistics,
+                          TaskArchiveService taskArchiveService,
+                          ObjectProvider<TaskGroupCommitWriter> groupCommitWriter) {
         this.taskService = taskService;
+        this.taskExportService = taskExportService;
+        this.taskBatchService = taskBatchService;
+        this.taskEventStream = taskEventStream;
+        this.taskSearchService = taskSearchService;
+        this.taskStatistics = taskStatistics;
+        this.taskArchiveService = taskArchiveService;
+        this.groupCommitWriter = groupCommitWriter.getIfAvailable();
     }
 
     @PostMapping
     public ResponseEntity<TaskResponseDto> createTask(@Valid @RequestBody TaskRequestDto task) {
-        TaskResponseDto createdTask = taskService.createTask(task);
+        TaskResponseDto createdTask = groupCommitWriter == null
+            ? taskService.createTask(task)
+            : groupCommitWriter.create(task);
         return new ResponseEntity<>(createdTask, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public TaskBatchResultDto createTasks(@RequestBody List<TaskRequestDto> tasks) {
+        return taskBatchService.createTasks(tasks);
+    }
+
+    @PatchMapping("/batch/status")
+    public TaskBatchResultDto updateTaskStatuses(@RequestBody List<TaskStatusUpdateDto> updates) {
+        return taskBatchService.updateStatuses(updates);
+    }
+
+    @DeleteMapping("/batch")
+    public TaskBatchResultDto deleteTasks(@RequestBody List<Long> ids) {
+        return taskBatchService.deleteTasks(ids);
+    }
+
+    // Returning the ETag on a ResponseEntity lets Spring answer If-None-Match with a 304 before writing the body
     @GetMapping
-    public List<TaskResponseDto> getAllTasks() {
-        return taskService.getAllTasks();
+    public ResponseEntity<TaskPageDto> getAllTasks(@ModelAttribute TaskFilterDto filter,
+                                                   @RequestParam(required = false) String sort,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) Integer size) {
+        TaskPageDto page = taskService.getTasks(filter, sort, cursor, size);
+        return ResponseEntity.ok().eTag(TaskETags.forPage(page)).body(page);
+    }
+
+    @GetMapping(params = "fields")
+    public ResponseEntity<TaskProjectedPageDto> getAllTasksProjected(@ModelAttribute TaskFilterDto filter,
+                                                                     @RequestParam(required = false) String sort,
+                                                                     @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(required = false) Integer size,
+                                                                     @RequestParam String fields) {
+        Set<TaskField> selected = TaskField.parse(fields);
+        TaskPageDto page = taskService.getTasks(filter, sort, cursor, size);
+        TaskProjectedPageDto projected = TaskProjectedPageDto.builder()
+            .items(page.getItems().stream().map(task -> TaskField.project(task, selected)).toList())
+            .nextCursor(page.getNextCursor())
+            .build();
+        return ResponseEntity.ok().eTag(TaskETags.forPage(page)).body(projected);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTasks() {
+        StreamingResponseBody body = taskExportService::exportTasks;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/search")
+    public TaskSearchPageDto searchTasks(@RequestParam String q,
+                                         @RequestParam(required = false) Integer page,
+                                         @RequestParam(required = false) Integer size) {
+        return taskSearchService.search(q, page, size);
+    }
+
+    @GetMapping("/stats")
+    public TaskStatsDto getTaskStats() {
+        return taskStatistics.snapshot();
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return taskEventStream.subscribe(lastEventId);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<TaskResponseDto> getTaskById(@PathVariable Long id) {
         Optional<TaskResponseDto> task = Optional.ofNullable(taskService.getTaskById(id));
-        return task.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+        return task.map(found -> ResponseEntity.ok().eTag(TaskETags.forTask(found)).body(found))
+            .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<TaskResponseDto> updateTask(@PathVariable Long id, @RequestBody TaskRequestDto taskRequestDto) {
-        TaskResponseDto updatedTask = taskService.updateTask(id, taskRequestDto);
-        return ResponseEntity.ok(updatedTask);
+    public ResponseEntity<TaskResponseDto> updateTask(
+        @PathVariable Long id,
+        @RequestBody TaskRequestDto taskRequestDto,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TaskResponseDto updatedTask = taskService.updateTask(
+            id, taskRequestDto, TaskETags.expectedVersion(ifMatch, id));
+        return ResponseEntity.ok().eTag(TaskETags.forTask(updatedTask)).body(updatedTask);
     }
 
     @DeleteMapping("/{id}")
@@ -51,9 +160,24 @@ public class TaskController {
         taskService.deleteTask(id);
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping("/{id}/restore")
+    public ResponseEntity<TaskResponseDto> restoreTask(@PathVariable Long id) {
+        TaskResponseDto restored = taskArchiveService.restoreTask(id);
+        return ResponseEntity.ok().eTag(TaskETags.forTask(restored)).body(restored);
+    }
+
     @PatchMapping("/{id}/status")
-    public ResponseEntity<TaskResponseDto> updateTaskStatus(@PathVariable Long id, @RequestBody Map<String, String> status) {
-        TaskResponseDto taskResponseDto = taskService.updateTaskStatus(id, status.get("status"));
-        return ResponseEntity.ok(taskResponseDto);
+    public ResponseEntity<TaskResponseDto> updateTaskStatus(
+        @PathVariable Long id,
+        @RequestBody Map<String, String> status,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TaskStatus newStatus = TaskStatus.fromValue(status.get("status"));
+        if (newStatus == null) {
+            throw new InvalidRequestException("Status must not be blank");
+        }
+        TaskResponseDto taskResponseDto = taskService.updateTaskStatus(
+            id, newStatus, TaskETags.expectedVersion(ifMatch, id));
+        return ResponseEntity.ok().eTag(TaskETags.forTask(taskResponseDto)).body(taskResponseDto);
     }
 }
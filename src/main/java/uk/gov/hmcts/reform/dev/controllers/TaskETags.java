@@ -0,0 +1,69 @@
+package uk.gov.hmcts.reform.dev.controllers;
+
+import uk.gov.hmcts.reform.dev.dto.TaskPageDto;
+import uk.gov.hmcts.reform.dev.dto.TaskResponseDto;
+import uk.gov.hmcts.reform.dev.exception.PreconditionFailedException;
+
+/**
+ * ETags built from the task version column rather than a hash of the JSON, so they can be
+ * computed and compared without serialising anything. A single task is
+ * {@code W/"<id>-<version>"}; a list page hashes the id/version pairs it contains.
+ *
+ * <p>They are weak because Tomcat will not gzip a response carrying a strong ETag: the
+ * compressed bytes differ from the ones the tag would promise. The version still pins down the
+ * task exactly, so If-Match takes the tag with or without the {@code W/}.
+ */
+public final class TaskETags {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final String WEAK_PREFIX = "W/";
+
+    private TaskETags() {
+    }
+
+    public static String forTask(TaskResponseDto task) {
+        return WEAK_PREFIX + "\"" + task.getId() + "-" + task.getVersion() + "\"";
+    }
+
+    public static String forPage(TaskPageDto page) {
+        long hash = FNV_OFFSET;
+        for (TaskResponseDto task : page.getItems()) {
+            hash = mix(hash, task.getId() == null ? 0 : task.getId());
+            hash = mix(hash, task.getVersion() == null ? 0 : task.getVersion());
+        }
+        hash = mix(hash, page.getNextCursor() == null ? 0 : page.getNextCursor().hashCode());
+        return WEAK_PREFIX + "\"p-" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * Returns the version an If-Match header requires, or null when there is no
+     * precondition ({@code *} or no header). Foreign tags can never match.
+     */
+    public static Long expectedVersion(String ifMatch, Long id) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith(WEAK_PREFIX)) {
+            tag = tag.substring(WEAK_PREFIX.length());
+        }
+        String prefix = "\"" + id + "-";
+        if (!tag.startsWith(prefix) || !tag.endsWith("\"") || tag.length() <= prefix.length() + 1) {
+            throw new PreconditionFailedException("If-Match does not match the current task");
+        }
+        try {
+            return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match does not match the current task");
+        }
+    }
+
+    private static long mix(long hash, long value) {
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            hash ^= (value >>> shift) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,19 @@
+package uk.gov.hmcts.reform.dev.controllers;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+
+/**
+ * Binds {@code ?status=} with the same lenient parse request bodies get, so {@code open} and
+ * {@code In-Progress} work in a query too and an unknown value is the same 400 either way.
+ * Spring Boot registers Converter beans with MVC.
+ */
+@Component
+public class TaskStatusConverter implements Converter<String, TaskStatus> {
+
+    @Override
+    public TaskStatus convert(String source) {
+        return TaskStatus.fromValue(source);
+    }
+}
@@ -0,0 +1,107 @@
+package uk.gov.hmcts.reform.dev.datasource;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Loads cache misses from the primary. A miss read from a lagging replica would put the row as
+ * it was before a write straight back into the cache that write has just evicted, where every
+ * client, the writer included once its stickiness runs out, would read it until it expires.
+ * Only the {@code sync = true} path loads through the cache, which is the only one the task
+ * cache uses.
+ */
+public class PrimaryLoadingCacheManager implements CacheManager {
+
+    private final CacheManager target;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public PrimaryLoadingCacheManager(CacheManager target) {
+        this.target = target;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = target.getCache(name);
+        return cache == null ? null : caches.computeIfAbsent(name, key -> new PrimaryLoadingCache(cache));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return target.getCacheNames();
+    }
+
+    private record PrimaryLoadingCache(Cache target) implements Cache {
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return target.get(key, () -> ReadYourWrites.callOnPrimary(valueLoader));
+        }
+
+        @Override
+        public String getName() {
+            return target.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return target.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return target.get(key);
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return target.get(key, type);
+        }
+
+        @Override
+        public CompletableFuture<?> retrieve(Object key) {
+            return target.retrieve(key);
+        }
+
+        @Override
+        public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+            return target.retrieve(key, valueLoader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            target.put(key, value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return target.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            target.evict(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            return target.evictIfPresent(key);
+        }
+
+        @Override
+        public void clear() {
+            target.clear();
+        }
+
+        @Override
+        public boolean invalidate() {
+            return target.invalidate();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package uk.gov.hmcts.reform.dev.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+
+/**
+ * Sends read-only transactions to a healthy replica, round robin, and everything else to the
+ * primary. Must sit behind a {@code LazyConnectionDataSourceProxy} so the connection is only
+ * fetched once the transaction's read-only flag is known.
+ *
+ * <p>Replicas are checked on a background thread: one that cannot be reached, or whose lag
+ * query reports more than {@code maxLag}, is skipped until a later check passes. If no replica
+ * is usable, or fetching a replica connection fails, reads fall back to the primary.
+ */
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Map<String, Replica> replicasByKey = new HashMap<>();
+    private final Map<String, Counter> routed = new HashMap<>();
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final Duration healthCheckInterval;
+    private final AtomicInteger next = new AtomicInteger();
+    private ScheduledExecutorService healthChecks;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicaPools, String lagQuery,
+                                        Duration maxLag, Duration healthCheckInterval, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = IntStream.range(0, replicaPools.size())
+            .mapToObj(index -> new Replica("replica-" + index, replicaPools.get(index)))
+            .toList();
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        this.healthCheckInterval = healthCheckInterval;
+
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        targets.put(PRIMARY, primary);
+        routed.put(PRIMARY, routedCounter(meterRegistry, PRIMARY));
+        for (Replica replica : replicas) {
+            targets.put(replica.key, replica.pool);
+            replicasByKey.put(replica.key, replica);
+            routed.put(replica.key, routedCounter(meterRegistry, replica.key));
+            Gauge.builder("tasks.db.replica.lag", replica, r -> r.lagSeconds)
+                .description("Replica lag reported by the last health check")
+                .baseUnit("seconds")
+                .tag("replica", replica.key)
+                .register(meterRegistry);
+            Gauge.builder("tasks.db.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                .description("Whether the replica is currently taking reads")
+                .tag("replica", replica.key)
+                .register(meterRegistry);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkReplicas();
+        long interval = healthCheckInterval.toMillis();
+        healthChecks = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("replica-health-check").daemon().factory()
+        );
+        healthChecks.scheduleWithFixedDelay(this::checkReplicas, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+            || ReadYourWrites.isPinnedToPrimary() || replicas.isEmpty()) {
+            return PRIMARY;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                return replica.key;
+            }
+        }
+        return PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        String key = (String) determineCurrentLookupKey();
+        Replica replica = replicasByKey.get(key);
+        if (replica != null) {
+            try {
+                Connection connection = replica.pool.getConnection();
+                routed.get(key).increment();
+                return connection;
+            } catch (SQLException e) {
+                replica.markDown(e.getMessage());
+            }
+        }
+        routed.get(PRIMARY).increment();
+        return primary.getConnection();
+    }
+
+    void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection()) {
+                double lag = lagQuery == null ? 0 : queryLag(connection);
+                replica.lagSeconds = lag;
+                if (lag > maxLag.toMillis() / 1000.0) {
+                    replica.markDown("lag " + lag + "s exceeds " + maxLag);
+                } else {
+                    replica.markUp();
+                }
+            } catch (SQLException | RuntimeException e) {
+                replica.markDown(e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (healthChecks != null) {
+            healthChecks.shutdownNow();
+        }
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private double queryLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            return resultSet.next() ? resultSet.getDouble(1) : 0;
+        }
+    }
+
+    private static Counter routedCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("tasks.db.routed")
+            .description("Connections handed out, by the database they came from")
+            .tag("target", target)
+            .register(meterRegistry);
+    }
+
+    private static final class Replica {
+        private final String key;
+        private final HikariDataSource pool;
+        private volatile boolean healthy = true;
+        private volatile double lagSeconds;
+
+        private Replica(String key, HikariDataSource pool) {
+            this.key = key;
+            this.pool = pool;
+        }
+
+        private void markDown(String reason) {
+            if (healthy) {
+                log.warn("Read replica {} taken out of rotation: {}", key, reason);
+            }
+            healthy = false;
+        }
+
+        private void markUp() {
+            if (!healthy) {
+                log.info("Read replica {} back in rotation", key);
+            }
+            healthy = true;
+        }
+    }
+}
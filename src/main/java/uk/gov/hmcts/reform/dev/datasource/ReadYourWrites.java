@@ -0,0 +1,59 @@
+package uk.gov.hmcts.reform.dev.datasource;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Marks the current thread as having to read from the primary, set by
+ * {@link ReadYourWritesFilter} for the lifetime of a request, or by {@link #runOnPrimary} for
+ * background work.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(PINNED.get());
+    }
+
+    /**
+     * Runs {@code action} pinned to the primary, for background reads that rebuild state from the
+     * database and so must not see a lagging replica.
+     */
+    public static void runOnPrimary(Runnable action) {
+        boolean alreadyPinned = isPinnedToPrimary();
+        pinToPrimary();
+        try {
+            action.run();
+        } finally {
+            if (!alreadyPinned) {
+                clear();
+            }
+        }
+    }
+
+    /**
+     * Like {@link #runOnPrimary}, for work that returns a value.
+     */
+    public static <T> T callOnPrimary(Callable<T> action) throws Exception {
+        boolean alreadyPinned = isPinnedToPrimary();
+        pinToPrimary();
+        try {
+            return action.call();
+        } finally {
+            if (!alreadyPinned) {
+                clear();
+            }
+        }
+    }
+
+    static void pinToPrimary() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    static void clear() {
+        PINNED.remove();
+    }
+}
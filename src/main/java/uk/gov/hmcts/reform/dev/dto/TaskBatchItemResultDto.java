@@ -0,0 +1,27 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskBatchItemResultDto {
+
+    // Position of the item in the request
+    private int index;
+
+    private Long id;
+
+    // HTTP status the item would have had as a single request
+    private int status;
+
+    private List<String> errors;
+
+    private TaskResponseDto task;
+}
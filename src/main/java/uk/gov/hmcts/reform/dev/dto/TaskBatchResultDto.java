@@ -0,0 +1,21 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskBatchResultDto {
+
+    private int succeeded;
+
+    private int failed;
+
+    private List<TaskBatchItemResultDto> results;
+}
@@ -0,0 +1,66 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import uk.gov.hmcts.reform.dev.exception.InvalidRequestException;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Fields a client can ask for with {@code fields=}. Each one reads its value with a
+ * plain getter, so projecting a page costs no reflection.
+ */
+public enum TaskField {
+    ID("id", TaskResponseDto::getId),
+    TITLE("title", TaskResponseDto::getTitle),
+    DESCRIPTION("description", TaskResponseDto::getDescription),
+    STATUS("status", TaskResponseDto::getStatus),
+    DUE_DATE("dueDate", TaskResponseDto::getDueDate),
+    VERSION("version", TaskResponseDto::getVersion);
+
+    private final String parameter;
+    private final Function<TaskResponseDto, Object> accessor;
+
+    TaskField(String parameter, Function<TaskResponseDto, Object> accessor) {
+        this.parameter = parameter;
+        this.accessor = accessor;
+    }
+
+    public static Set<TaskField> parse(String fields) {
+        Set<TaskField> selected = EnumSet.noneOf(TaskField.class);
+        if (fields != null) {
+            for (String name : fields.split(",")) {
+                if (!name.isBlank()) {
+                    selected.add(fromParameter(name.trim()));
+                }
+            }
+        }
+        if (selected.isEmpty()) {
+            throw new InvalidRequestException("fields must name at least one field");
+        }
+        return selected;
+    }
+
+    // Nulls are left out, matching the full representation
+    public static Map<String, Object> project(TaskResponseDto task, Set<TaskField> fields) {
+        Map<String, Object> projected = new LinkedHashMap<>();
+        for (TaskField field : fields) {
+            Object value = field.accessor.apply(task);
+            if (value != null) {
+                projected.put(field.parameter, value);
+            }
+        }
+        return projected;
+    }
+
+    private static TaskField fromParameter(String name) {
+        for (TaskField candidate : values()) {
+            if (candidate.parameter.equals(name)) {
+                return candidate;
+            }
+        }
+        throw new InvalidRequestException("Unsupported field: " + name);
+    }
+}
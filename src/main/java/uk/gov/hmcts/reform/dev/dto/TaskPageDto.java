@@ -0,0 +1,20 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskPageDto {
+
+    private List<TaskResponseDto> items;
+
+    // Opaque token for the next page, null when this is the last page
+    private String nextCursor;
+}
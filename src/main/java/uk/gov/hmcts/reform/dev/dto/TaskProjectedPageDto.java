@@ -0,0 +1,21 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskProjectedPageDto {
+
+    // Each item holds only the fields named in the request's fields parameter
+    private List<Map<String, Object>> items;
+
+    private String nextCursor;
+}
@@ -7,6 +7,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
 
 import java.time.LocalDateTime;
 
@@ -22,9 +23,11 @@ public class TaskRequestDto {
     @Size(max = 500, message = "Description must be less than 500 characters")
     private String description;
 
-    @Size(max = 20, message = "Status must be less than 20 characters")
-    private String status;
+    private TaskStatus status;
 
     @Future(message = "Due date must be in the future")
     private LocalDateTime dueDate;
+
+    // Optional, when set an update is rejected if the task has changed since this version
+    private Long version;
 }
@@ -1,5 +1,6 @@
 package uk.gov.hmcts.reform.dev.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -7,9 +8,12 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
 
 import java.time.LocalDateTime;
 
+// Nulls are omitted to keep list pages and exports small
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -25,10 +29,11 @@ public class TaskResponseDto {
     @Size(max = 500, message = "Description must be less than 500 characters")
     private String description;
 
-    @Size(max = 20, message = "Status must be less than 20 characters")
-    private String status;
+    private TaskStatus status;
 
     @Future(message = "Due date must be in the future")
     private LocalDateTime dueDate;
+
+    private Long version;
 }
 
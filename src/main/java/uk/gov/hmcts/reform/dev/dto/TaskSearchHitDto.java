@@ -0,0 +1,18 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskSearchHitDto {
+
+    private TaskResponseDto task;
+
+    // Relevance, only comparable between hits of the same query
+    private float score;
+}
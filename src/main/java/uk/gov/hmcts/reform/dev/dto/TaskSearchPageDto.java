@@ -0,0 +1,24 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskSearchPageDto {
+
+    private List<TaskSearchHitDto> items;
+
+    private int page;
+
+    private int size;
+
+    // Tasks matching every word of the query
+    private int total;
+}
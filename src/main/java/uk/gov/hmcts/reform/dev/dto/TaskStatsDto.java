@@ -0,0 +1,30 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskStatsDto {
+
+    private long total;
+
+    private Map<TaskStatus, Long> byStatus;
+
+    // Overdue and due today only count tasks that are not completed or cancelled
+    private long overdue;
+
+    private long dueToday;
+
+    private LocalDateTime asOf;
+
+    private LocalDateTime reconciledAt;
+}
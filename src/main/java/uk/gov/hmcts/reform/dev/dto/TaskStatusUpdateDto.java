@@ -0,0 +1,21 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskStatusUpdateDto {
+
+    @NotNull(message = "ID must not be null")
+    private Long id;
+
+    @NotNull(message = "Status must not be null")
+    private TaskStatus status;
+}
@@ -0,0 +1,49 @@
+package uk.gov.hmcts.reform.dev.events;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Value;
+import uk.gov.hmcts.reform.dev.dto.TaskResponseDto;
+
+import java.time.Instant;
+
+/**
+ * Published by the task services whenever a task is written. Listeners that care about
+ * the change only becoming visible once it is committed should use a transactional listener.
+ */
+@Value
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        STATUS_CHANGED,
+        DELETED
+    }
+
+    Type type;
+    Long taskId;
+    Long version;
+    TaskResponseDto task;
+    Instant occurredAt;
+
+    public static TaskChangedEvent created(TaskResponseDto task) {
+        return of(Type.CREATED, task);
+    }
+
+    public static TaskChangedEvent updated(TaskResponseDto task) {
+        return of(Type.UPDATED, task);
+    }
+
+    public static TaskChangedEvent statusChanged(TaskResponseDto task) {
+        return of(Type.STATUS_CHANGED, task);
+    }
+
+    public static TaskChangedEvent deleted(Long taskId) {
+        return new TaskChangedEvent(Type.DELETED, taskId, null, null, Instant.now());
+    }
+
+    private static TaskChangedEvent of(Type type, TaskResponseDto task) {
+        return new TaskChangedEvent(type, task.getId(), task.getVersion(), task, Instant.now());
+    }
+}
@@ -0,0 +1,282 @@
+package uk.gov.hmcts.reform.dev.events;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import uk.gov.hmcts.reform.dev.config.TaskEventsProperties;
+import uk.gov.hmcts.reform.dev.exception.InvalidRequestException;
+import uk.gov.hmcts.reform.dev.exception.ServiceOverloadedException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans committed task changes out to Server-Sent Events subscribers.
+ *
+ * <p>Every event gets a sequence number and is kept in a fixed-size ring buffer, so a client
+ * reconnecting with Last-Event-ID is replayed what it missed. Ids are {@code <epoch>-<sequence>}:
+ * the sequence starts again with every boot and differs between instances, so an id carrying
+ * another epoch, from before a restart or from another instance behind the load balancer, gets a
+ * reset rather than a replay from the wrong point. Subscribers hold no thread while
+ * idle: each has a bounded queue that is drained on a virtual thread only while it has work, and
+ * a subscriber whose queue fills up is disconnected instead of buffering without limit.
+ */
+@Slf4j
+@Component
+public class TaskEventStream {
+
+    static final String RESET_EVENT = "reset";
+
+    private static final Delivery HEARTBEAT = EventSink::heartbeat;
+
+    private final TaskEventsProperties properties;
+    private final String epoch;
+    private final StreamedEvent[] buffer;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService deliveryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("task-events-heartbeat").daemon().factory()
+    );
+    private final Object lock = new Object();
+    private long lastEventId;
+
+    @Autowired
+    public TaskEventStream(TaskEventsProperties properties) {
+        this(properties, newEpoch());
+    }
+
+    TaskEventStream(TaskEventsProperties properties, String epoch) {
+        this.properties = properties;
+        this.epoch = epoch;
+        this.buffer = new StreamedEvent[Math.max(1, properties.getBufferSize())];
+        long interval = properties.getHeartbeatInterval().toMillis();
+        heartbeats.scheduleAtFixedRate(this::sendHeartbeats, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(String lastEventId) {
+        EventId resumeAfter = parseLastEventId(lastEventId);
+        SseEmitter emitter = new SseEmitter(properties.getEmitterTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(new EmitterSink(emitter), properties.getSubscriberQueueCapacity());
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        register(subscriber, resumeAfter);
+        return emitter;
+    }
+
+    // Runs after commit so subscribers never see a change that is later rolled back
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        synchronized (lock) {
+            StreamedEvent streamed = new StreamedEvent(new EventId(epoch, ++lastEventId), event);
+            buffer[(int) (lastEventId % buffer.length)] = streamed;
+            for (Subscriber subscriber : subscribers) {
+                enqueue(subscriber, streamed);
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    void register(Subscriber subscriber, EventId resumeAfter) {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            throw new ServiceOverloadedException("Too many event stream subscribers", Duration.ofSeconds(5));
+        }
+        // Replaying and joining under the lock means nothing is missed or sent twice in between
+        synchronized (lock) {
+            if (resumeAfter != null) {
+                replay(subscriber, resumeAfter);
+            }
+            subscribers.add(subscriber);
+        }
+        schedule(subscriber);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeats.shutdownNow();
+        subscribers.forEach(this::drop);
+        deliveryExecutor.shutdown();
+    }
+
+    void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, HEARTBEAT);
+        }
+    }
+
+    // A reset tells the client its view is stale and it should reload the list before carrying on
+    private void replay(Subscriber subscriber, EventId resumeAfter) {
+        long currentId = lastEventId;
+        EventId current = new EventId(epoch, currentId);
+        Delivery reset = sink -> sink.reset(current);
+        if (!epoch.equals(resumeAfter.epoch()) || resumeAfter.sequence() > currentId) {
+            // An id handed out before a restart or by another instance
+            subscriber.offer(reset);
+            return;
+        }
+        long oldest = Math.max(1, currentId - buffer.length + 1);
+        if (resumeAfter.sequence() + 1 < oldest) {
+            subscriber.offer(reset);
+            return;
+        }
+        for (long id = resumeAfter.sequence() + 1; id <= currentId; id++) {
+            if (!subscriber.offer(buffer[(int) (id % buffer.length)])) {
+                subscriber.queue.clear();
+                subscriber.offer(reset);
+                return;
+            }
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, Delivery delivery) {
+        if (subscriber.offer(delivery)) {
+            schedule(subscriber);
+        } else {
+            log.debug("Dropping slow event stream subscriber");
+            drop(subscriber);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            deliveryExecutor.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Delivery delivery;
+            while (!subscriber.closed && (delivery = subscriber.queue.poll()) != null) {
+                delivery.deliver(subscriber.sink);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("Event stream subscriber went away: {}", e.getMessage());
+            drop(subscriber);
+        } finally {
+            subscriber.draining.set(false);
+        }
+        if (!subscriber.closed) {
+            schedule(subscriber);
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        remove(subscriber);
+        subscriber.sink.close();
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.remove(subscriber);
+    }
+
+    static EventId parseLastEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        String id = lastEventId.trim();
+        // A bare number is an id from before ids had an epoch; it parses but can never match ours
+        int separator = id.lastIndexOf('-');
+        try {
+            return new EventId(id.substring(0, Math.max(0, separator)), Long.parseLong(id.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("Invalid Last-Event-ID: " + lastEventId);
+        }
+    }
+
+    // Boot time plus a random suffix, so two instances started together still differ
+    private static String newEpoch() {
+        return Long.toString(System.currentTimeMillis(), Character.MAX_RADIX)
+            + Integer.toString(ThreadLocalRandom.current().nextInt(1 << 20), Character.MAX_RADIX);
+    }
+
+    interface EventSink {
+        void send(StreamedEvent event) throws IOException;
+
+        void heartbeat() throws IOException;
+
+        void reset(EventId lastEventId) throws IOException;
+
+        void close();
+    }
+
+    @FunctionalInterface
+    interface Delivery {
+        void deliver(EventSink sink) throws IOException;
+    }
+
+    record EventId(String epoch, long sequence) {
+        @Override
+        public String toString() {
+            return epoch + "-" + sequence;
+        }
+    }
+
+    record StreamedEvent(EventId id, TaskChangedEvent event) implements Delivery {
+        @Override
+        public void deliver(EventSink sink) throws IOException {
+            sink.send(this);
+        }
+    }
+
+    static final class Subscriber {
+        private final EventSink sink;
+        private final BlockingQueue<Delivery> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(EventSink sink, int capacity) {
+            this.sink = sink;
+            this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        }
+
+        boolean offer(Delivery delivery) {
+            return !closed && queue.offer(delivery);
+        }
+    }
+
+    private record EmitterSink(SseEmitter emitter) implements EventSink {
+        @Override
+        public void send(StreamedEvent event) throws IOException {
+            emitter.send(SseEmitter.event()
+                             .id(event.id().toString())
+                             .name(event.event().getType().name())
+                             .data(event.event(), MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        }
+
+        @Override
+        public void reset(EventId lastEventId) throws IOException {
+            emitter.send(SseEmitter.event()
+                             .id(lastEventId.toString())
+                             .name(RESET_EVENT)
+                             .data("{}", MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void close() {
+            emitter.complete();
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package uk.gov.hmcts.reform.dev.exception;
 
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.validation.BindingResult;
@@ -21,13 +25,60 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRequest(InvalidRequestException ex) {
+        ErrorResponse error = new ErrorResponse("BAD_REQUEST", List.of(ex.getMessage()));
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailed(PreconditionFailedException ex) {
+        ErrorResponse error = new ErrorResponse("PRECONDITION_FAILED", List.of(ex.getMessage()));
+        return new ResponseEntity<>(error, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        ErrorResponse error = new ErrorResponse(
+            "CONFLICT", List.of("Task was modified by another request, reload it and try again"));
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleServiceOverloaded(ServiceOverloadedException ex) {
+        ErrorResponse error = new ErrorResponse("SERVICE_UNAVAILABLE", List.of(ex.getMessage()));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter().toSeconds()))
+            .body(error);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
         BindingResult result = ex.getBindingResult();
         List<String> errorMessages = result.getAllErrors().stream()
-            .map(ObjectError::getDefaultMessage)
+            .map(GlobalExceptionHandler::messageOf)
             .collect(Collectors.toList());
         ErrorResponse error = new ErrorResponse("BAD_REQUEST", errorMessages);
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
+
+    // A body value the @JsonCreator rejected, such as an unknown status, gets the same answer as in a query
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleUnreadableBody(HttpMessageNotReadableException ex) {
+        if (ex.getMostSpecificCause() instanceof InvalidRequestException invalid) {
+            return handleInvalidRequest(invalid);
+        }
+        // Anything else is left to Spring's default handling
+        throw ex;
+    }
+
+    // A query value a converter rejected carries its own message rather than Spring's type mismatch text
+    private static String messageOf(ObjectError error) {
+        if (error.contains(TypeMismatchException.class)
+            && error.unwrap(TypeMismatchException.class).getMostSpecificCause()
+                instanceof InvalidRequestException invalid) {
+            return invalid.getMessage();
+        }
+        return error.getDefaultMessage();
+    }
 }
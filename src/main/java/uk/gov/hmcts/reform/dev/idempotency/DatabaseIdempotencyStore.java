@@ -0,0 +1,163 @@
+package uk.gov.hmcts.reform.dev.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.models.TaskIdempotencyKey;
+import uk.gov.hmcts.reform.dev.repositories.TaskIdempotencyKeyRepository;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keys held in {@code task_idempotency_keys}, so a retry is recognised whichever instance it
+ * reaches. A claim is a plain insert: the primary key decides which request runs, and the
+ * others see the claim until the response is recorded.
+ *
+ * <p>A claim that is never completed, because its instance died mid-request, can be taken over
+ * once it is older than {@code claimTimeout}. Expired rows are purged every
+ * {@code purgeInterval}.
+ */
+@Slf4j
+public class DatabaseIdempotencyStore implements IdempotencyStore, InitializingBean, AutoCloseable {
+
+    private static final TypeReference<Map<String, String>> HEADERS = new TypeReference<>() {
+    };
+
+    private final TaskIdempotencyKeyRepository repository;
+    private final TransactionTemplate transaction;
+    private final ObjectMapper objectMapper;
+    private final Duration timeToLive;
+    private final Duration claimTimeout;
+    private final Duration purgeInterval;
+    private final Clock clock;
+    private ScheduledExecutorService purger;
+
+    public DatabaseIdempotencyStore(TaskIdempotencyKeyRepository repository,
+                                    PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                                    Duration timeToLive, Duration claimTimeout, Duration purgeInterval,
+                                    Clock clock) {
+        this.repository = repository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        // Never join the caller's transaction: a failed insert must not roll back anything else
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.objectMapper = objectMapper;
+        this.timeToLive = timeToLive;
+        this.claimTimeout = claimTimeout;
+        this.purgeInterval = purgeInterval;
+        this.clock = clock;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        long interval = purgeInterval.toMillis();
+        purger = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("idempotency-key-purge").daemon().factory()
+        );
+        purger.scheduleWithFixedDelay(this::purgeQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> claim(String key, String requestHash) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        try {
+            transaction.executeWithoutResult(status -> repository.insertClaim(key, requestHash, now,
+                                                                              now.plus(timeToLive)));
+            return Optional.empty();
+        } catch (DataIntegrityViolationException alreadyClaimed) {
+            return transaction.execute(status -> {
+                if (repository.reclaim(key, requestHash, now, now.plus(timeToLive), now.minus(claimTimeout)) > 0) {
+                    return Optional.<IdempotencyRecord>empty();
+                }
+                Optional<IdempotencyRecord> existing = repository.findById(key).map(this::toRecord);
+                if (existing.isEmpty()) {
+                    // Purged since the insert failed, so the key is free again
+                    repository.insertClaim(key, requestHash, now, now.plus(timeToLive));
+                }
+                return existing;
+            });
+        }
+    }
+
+    @Override
+    public void complete(String key, String requestHash, IdempotentResponse response) {
+        transaction.executeWithoutResult(status -> repository.findById(key).ifPresent(row -> {
+            row.setRequestHash(requestHash);
+            row.setStatusCode(response.status());
+            row.setResponseHeaders(writeHeaders(response.headers()));
+            row.setResponseBody(new String(response.body(), StandardCharsets.UTF_8));
+            row.setExpiresAt(LocalDateTime.now(clock).plus(timeToLive));
+        }));
+    }
+
+    @Override
+    public void release(String key) {
+        transaction.executeWithoutResult(status -> repository.deleteClaim(key));
+    }
+
+    int purgeExpired() {
+        Integer purged = transaction.execute(status -> repository.deleteExpired(LocalDateTime.now(clock)));
+        return purged == null ? 0 : purged;
+    }
+
+    @Override
+    public void close() {
+        if (purger != null) {
+            purger.shutdownNow();
+        }
+    }
+
+    private void purgeQuietly() {
+        try {
+            int purged = purgeExpired();
+            if (purged > 0) {
+                log.debug("Purged {} expired idempotency keys", purged);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Purging expired idempotency keys failed", e);
+        }
+    }
+
+    private IdempotencyRecord toRecord(TaskIdempotencyKey row) {
+        if (row.getStatusCode() == null) {
+            return new IdempotencyRecord(row.getRequestHash(), null);
+        }
+        byte[] body = row.getResponseBody() == null ? new byte[0] : row.getResponseBody().getBytes(
+            StandardCharsets.UTF_8);
+        return new IdempotencyRecord(row.getRequestHash(), new IdempotentResponse(
+            row.getStatusCode(), readHeaders(row.getResponseHeaders()), body));
+    }
+
+    private String writeHeaders(Map<String, String> headers) {
+        try {
+            return objectMapper.writeValueAsString(headers);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<String, String> readHeaders(String headers) {
+        if (headers == null) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(headers, HEADERS);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
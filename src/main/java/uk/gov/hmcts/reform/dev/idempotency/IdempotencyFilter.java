@@ -0,0 +1,342 @@
+package uk.gov.hmcts.reform.dev.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import uk.gov.hmcts.reform.dev.exception.ErrorResponse;
+import uk.gov.hmcts.reform.dev.ratelimit.ClientIdentity;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes writes carrying an {@code Idempotency-Key} header safe to retry. The first request with
+ * a key runs and its response is recorded; repeats get that response back, marked with
+ * {@code Idempotent-Replayed: true}, without running again.
+ *
+ * <p>Repeats that arrive while the first is still running on this instance wait for it and share
+ * its response. One still running elsewhere gets a 409 with {@code Retry-After}. Reusing a key for
+ * a different method, path or body is a 422. Server errors, 409s and 429s are not recorded, so
+ * retrying them runs the request again.
+ *
+ * <p>Keys belong to the client that sent them, as told apart by {@link ClientIdentity}, so one
+ * client cannot replay or block another's by guessing its keys. Bodies are held in memory to
+ * fingerprint them, so a request over the size limit is turned away with a 413 before it is read
+ * in full.
+ */
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+    private static final Set<Integer> TRANSIENT_STATUSES = Set.of(409, 429);
+    private static final List<String> REPLAYED_HEADERS = List.of(
+        HttpHeaders.ETAG, HttpHeaders.LOCATION, HttpHeaders.VARY,
+        HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS,
+        HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS
+    );
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final Duration inFlightWait;
+    private final int maxKeyLength;
+    private final long maxRequestSize;
+    private final long maxResponseSize;
+    private final ClientIdentity clients;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> outcomes = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public IdempotencyFilter(IdempotencyStore store, ObjectMapper objectMapper, Duration inFlightWait,
+                             int maxKeyLength, long maxRequestSize, long maxResponseSize, ClientIdentity clients,
+                             MeterRegistry meterRegistry) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.inFlightWait = inFlightWait;
+        this.maxKeyLength = maxKeyLength;
+        this.maxRequestSize = maxRequestSize;
+        this.maxResponseSize = maxResponseSize;
+        this.clients = clients;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return SAFE_METHODS.contains(request.getMethod()) || request.getHeader(HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String header = request.getHeader(HEADER);
+        if (header.isBlank() || header.length() > maxKeyLength) {
+            writeError(response, HttpStatus.BAD_REQUEST, HEADER + " must be between 1 and " + maxKeyLength
+                + " characters");
+            return;
+        }
+        byte[] body = readBody(request);
+        if (body == null) {
+            outcome("too_large").increment();
+            writeError(response, HttpStatus.CONTENT_TOO_LARGE, "Requests with an " + HEADER
+                + " must be at most " + maxRequestSize + " bytes");
+            return;
+        }
+        String key = scope(clients.of(request), header);
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request, body);
+        String requestHash = fingerprint(cachedRequest);
+
+        InFlight mine = new InFlight(requestHash, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            awaitAndReplay(running, requestHash, response);
+            return;
+        }
+        try {
+            handle(key, cachedRequest, response, filterChain, mine);
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private void handle(String key, CachedBodyRequest request, HttpServletResponse response,
+                        FilterChain filterChain, InFlight mine) throws ServletException, IOException {
+        Optional<IdempotencyRecord> existing;
+        try {
+            existing = store.claim(key, mine.requestHash());
+        } catch (RuntimeException e) {
+            mine.outcome().completeExceptionally(e);
+            throw e;
+        }
+        if (existing.isPresent()) {
+            mine.outcome().complete(existing.get());
+            respond(existing.get(), mine.requestHash(), response, "replayed");
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        IdempotentResponse captured;
+        try {
+            filterChain.doFilter(request, wrapper);
+            captured = capture(wrapper);
+        } catch (IOException | ServletException | RuntimeException e) {
+            releaseQuietly(key);
+            mine.outcome().completeExceptionally(e);
+            throw e;
+        }
+        if (isRecordable(captured)) {
+            try {
+                store.complete(key, mine.requestHash(), captured);
+            } catch (RuntimeException e) {
+                log.warn("Could not record the response for an idempotency key; a retry will run again", e);
+                releaseQuietly(key);
+            }
+        } else {
+            releaseQuietly(key);
+        }
+        mine.outcome().complete(new IdempotencyRecord(mine.requestHash(), captured));
+        outcome("executed").increment();
+        wrapper.copyBodyToResponse();
+    }
+
+    private void awaitAndReplay(InFlight running, String requestHash, HttpServletResponse response)
+        throws IOException {
+        try {
+            IdempotencyRecord shared = running.outcome().get(inFlightWait.toMillis(), TimeUnit.MILLISECONDS);
+            respond(shared, requestHash, response, "coalesced");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejectInProgress(response);
+        } catch (ExecutionException | TimeoutException e) {
+            // The original failed without a response, or is taking too long: the client should retry
+            rejectInProgress(response);
+        }
+    }
+
+    private void respond(IdempotencyRecord record, String requestHash, HttpServletResponse response,
+                         String outcome) throws IOException {
+        if (!record.requestHash().equals(requestHash)) {
+            outcome("mismatch").increment();
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                       HEADER + " was already used for a different request");
+        } else if (record.response() == null) {
+            rejectInProgress(response);
+        } else {
+            replay(record.response(), response, outcome);
+        }
+    }
+
+    // Null when the body is over the limit, found from Content-Length where the client sent one and
+    // otherwise by reading no more than one byte past the limit
+    private byte[] readBody(HttpServletRequest request) throws IOException {
+        if (request.getContentLengthLong() > maxRequestSize) {
+            return null;
+        }
+        byte[] body = request.getInputStream().readNBytes((int) Math.min(maxRequestSize + 1, Integer.MAX_VALUE - 8));
+        return body.length > maxRequestSize ? null : body;
+    }
+
+    private IdempotentResponse capture(ContentCachingResponseWrapper wrapper) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : REPLAYED_HEADERS) {
+            String value = wrapper.getHeader(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        if (wrapper.getContentType() != null) {
+            headers.put(HttpHeaders.CONTENT_TYPE, wrapper.getContentType());
+        }
+        return new IdempotentResponse(wrapper.getStatus(), headers, wrapper.getContentAsByteArray());
+    }
+
+    private boolean isRecordable(IdempotentResponse captured) {
+        return captured.status() < 500 && !TRANSIENT_STATUSES.contains(captured.status())
+            && captured.body().length <= maxResponseSize;
+    }
+
+    private void replay(IdempotentResponse recorded, HttpServletResponse response, String outcome)
+        throws IOException {
+        outcome(outcome).increment();
+        response.setStatus(recorded.status());
+        recorded.headers().forEach(response::setHeader);
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(recorded.body().length);
+        response.getOutputStream().write(recorded.body());
+    }
+
+    private void rejectInProgress(HttpServletResponse response) throws IOException {
+        outcome("in_progress").increment();
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER.toSeconds()));
+        writeError(response, HttpStatus.CONFLICT, "A request with this " + HEADER
+            + " is still in progress, try again shortly");
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(status.name(), List.of(message)));
+    }
+
+    private void releaseQuietly(String key) {
+        try {
+            store.release(key);
+        } catch (RuntimeException e) {
+            log.warn("Could not release an idempotency key", e);
+        }
+    }
+
+    private Counter outcome(String outcome) {
+        return outcomes.computeIfAbsent(outcome, name -> Counter.builder("tasks.idempotency.requests")
+            .description("Requests carrying an Idempotency-Key, by what happened to them")
+            .tag("outcome", name)
+            .register(meterRegistry));
+    }
+
+    // Hashed so a long client id and a long key still fit the store's key column
+    private static String scope(String client, String key) {
+        MessageDigest digest = sha256();
+        digest.update((client + '\n' + key).getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String fingerprint(CachedBodyRequest request) {
+        MessageDigest digest = sha256();
+        digest.update((request.getMethod() + ' ' + request.getRequestURI() + '?'
+            + Optional.ofNullable(request.getQueryString()).orElse("") + '\n').getBytes(StandardCharsets.UTF_8));
+        digest.update(request.body);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record InFlight(String requestHash, CompletableFuture<IdempotencyRecord> outcome) {
+    }
+
+    // The body is read up front to fingerprint it, so the handler is given a copy to read again
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package uk.gov.hmcts.reform.dev.idempotency;
+
+/**
+ * What a store holds against a key. {@code response} is null while the request that claimed
+ * the key is still running.
+ */
+public record IdempotencyRecord(String requestHash, IdempotentResponse response) {
+}
@@ -0,0 +1,22 @@
+package uk.gov.hmcts.reform.dev.idempotency;
+
+import java.util.Optional;
+
+public interface IdempotencyStore {
+
+    /**
+     * Claims {@code key} for a request with the given fingerprint. Returns empty if the caller
+     * now owns the key and should run the request, otherwise what is already recorded for it.
+     */
+    Optional<IdempotencyRecord> claim(String key, String requestHash);
+
+    /**
+     * Records the response of a claimed request so repeats of it are replayed.
+     */
+    void complete(String key, String requestHash, IdempotentResponse response);
+
+    /**
+     * Gives up a claim without recording anything, so the next request with the key runs again.
+     */
+    void release(String key);
+}
@@ -0,0 +1,9 @@
+package uk.gov.hmcts.reform.dev.idempotency;
+
+import java.util.Map;
+
+/**
+ * A response as recorded for replay: the status, the headers worth repeating and the body.
+ */
+public record IdempotentResponse(int status, Map<String, String> headers, byte[] body) {
+}
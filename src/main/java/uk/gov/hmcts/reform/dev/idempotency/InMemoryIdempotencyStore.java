@@ -0,0 +1,37 @@
+package uk.gov.hmcts.reform.dev.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Keys held in a bounded local cache. Only protects retries that land on the same instance.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, IdempotencyRecord> records;
+
+    public InMemoryIdempotencyStore(long maximumKeys, Duration timeToLive) {
+        this.records = Caffeine.newBuilder()
+            .maximumSize(maximumKeys)
+            .expireAfterWrite(timeToLive)
+            .build();
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> claim(String key, String requestHash) {
+        return Optional.ofNullable(records.asMap().putIfAbsent(key, new IdempotencyRecord(requestHash, null)));
+    }
+
+    @Override
+    public void complete(String key, String requestHash, IdempotentResponse response) {
+        records.put(key, new IdempotencyRecord(requestHash, response));
+    }
+
+    @Override
+    public void release(String key) {
+        records.asMap().computeIfPresent(key, (ignored, record) -> record.response() == null ? null : record);
+    }
+}
@@ -0,0 +1,40 @@
+package uk.gov.hmcts.reform.dev.mappers;
+
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+import org.mapstruct.ReportingPolicy;
+import uk.gov.hmcts.reform.dev.dto.TaskRequestDto;
+import uk.gov.hmcts.reform.dev.dto.TaskResponseDto;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.util.List;
+
+/**
+ * Task mappings generated at compile time by MapStruct, so the hot path is plain
+ * getter/setter calls with no reflection or matching strategy at runtime.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface TaskMapper {
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdDate", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "status", defaultValue = "PENDING")
+    Task toEntity(TaskRequestDto request);
+
+    TaskResponseDto toResponse(Task task);
+
+    List<TaskResponseDto> toResponses(List<Task> tasks);
+
+    /**
+     * Applies a partial update: fields left null in the request keep their current value.
+     */
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdDate", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void updateEntity(TaskRequestDto request, @MappingTarget Task task);
+}
@@ -0,0 +1,98 @@
+package uk.gov.hmcts.reform.dev.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every JDBC statement by type and, while a request is being tracked on the
+ * current thread, adds it to that request's round-trip tally. Timers are resolved
+ * once per type/outcome and then reused, so the per-statement cost is a nanoTime
+ * pair and an array read.
+ */
+public class DatabaseQueryMetrics implements QueryExecutionListener {
+
+    private static final String START_NANOS = DatabaseQueryMetrics.class.getName() + ".start";
+    private static final ThreadLocal<RequestStatements> CURRENT_REQUEST = new ThreadLocal<>();
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Timer[] timers = new Timer[QueryType.values().length * 2];
+
+    // The registry is looked up lazily because the DataSource is wrapped long before meters are ready
+    public DatabaseQueryMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        long elapsed = start == null
+            ? TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime())
+            : System.nanoTime() - start;
+        QueryType type = queryInfoList.isEmpty()
+            ? QueryType.OTHER
+            : QueryUtils.getQueryType(queryInfoList.get(0).getQuery());
+        timer(type, execInfo.isSuccess()).record(elapsed, TimeUnit.NANOSECONDS);
+
+        RequestStatements current = CURRENT_REQUEST.get();
+        if (current != null) {
+            current.statements++;
+            current.nanos += elapsed;
+        }
+    }
+
+    /**
+     * Starts counting statements issued on this thread until {@link #endRequest()}.
+     */
+    public static void beginRequest() {
+        CURRENT_REQUEST.set(new RequestStatements());
+    }
+
+    public static RequestStatements endRequest() {
+        RequestStatements statements = CURRENT_REQUEST.get();
+        CURRENT_REQUEST.remove();
+        return statements == null ? new RequestStatements() : statements;
+    }
+
+    private Timer timer(QueryType type, boolean success) {
+        int slot = type.ordinal() * 2 + (success ? 0 : 1);
+        Timer timer = timers[slot];
+        if (timer == null) {
+            // Racing threads register the same meter and get the same instance back
+            timer = Timer.builder("tasks.db.statements")
+                .description("JDBC statement execution time")
+                .tag("type", type.name().toLowerCase(Locale.ROOT))
+                .tag("outcome", success ? "success" : "error")
+                .register(meterRegistry.getObject());
+            timers[slot] = timer;
+        }
+        return timer;
+    }
+
+    public static final class RequestStatements {
+        private int statements;
+        private long nanos;
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+}
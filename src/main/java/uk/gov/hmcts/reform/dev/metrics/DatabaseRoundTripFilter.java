@@ -0,0 +1,66 @@
+package uk.gov.hmcts.reform.dev.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how many statements each API request issued and how long they took in
+ * total, tagged by the matched route so N+1 patterns show up per endpoint.
+ */
+public class DatabaseRoundTripFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Route, Meters> meters = new ConcurrentHashMap<>();
+
+    public DatabaseRoundTripFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        DatabaseQueryMetrics.beginRequest();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            DatabaseQueryMetrics.RequestStatements statements = DatabaseQueryMetrics.endRequest();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            Meters route = meters(new Route(request.getMethod(), pattern == null ? "UNKNOWN" : pattern.toString()));
+            route.statements().record(statements.getStatements());
+            route.time().record(statements.getNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Built once per route rather than looked up in the registry on every request
+    private Meters meters(Route route) {
+        return meters.computeIfAbsent(route, key -> new Meters(
+            DistributionSummary.builder("tasks.db.request.statements")
+                .description("JDBC statements issued per HTTP request")
+                .tag("method", key.method())
+                .tag("uri", key.uri())
+                .register(meterRegistry),
+            Timer.builder("tasks.db.request.time")
+                .description("Time spent in JDBC statements per HTTP request")
+                .tag("method", key.method())
+                .tag("uri", key.uri())
+                .register(meterRegistry)));
+    }
+
+    private record Route(String method, String uri) {
+    }
+
+    private record Meters(DistributionSummary statements, Timer time) {
+    }
+}
@@ -0,0 +1,87 @@
+package uk.gov.hmcts.reform.dev.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import uk.gov.hmcts.reform.dev.config.SlowQueryProperties;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logs statements slower than the configured threshold, plus a small sample of the
+ * rest, each on a single line with the parameter types (never values), timing and
+ * the service method that issued it. Nothing is formatted for statements that are
+ * neither slow nor sampled, so the common path costs one comparison and a random draw.
+ */
+@Slf4j
+public class SlowQueryLogger implements QueryExecutionListener {
+
+    private static final String SERVICE_PACKAGE = "uk.gov.hmcts.reform.dev.services.";
+
+    private final long thresholdMillis;
+    private final double sampleRate;
+
+    public SlowQueryLogger(SlowQueryProperties properties) {
+        this.thresholdMillis = properties.getThreshold().toMillis();
+        this.sampleRate = properties.getSampleRate();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // Timing comes from datasource-proxy itself
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        if (elapsed >= thresholdMillis) {
+            if (log.isWarnEnabled()) {
+                log.warn("Slow query {}", describe(execInfo, queryInfoList));
+            }
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate && log.isInfoEnabled()) {
+            log.info("Sampled query {}", describe(execInfo, queryInfoList));
+        }
+    }
+
+    private String describe(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        StringJoiner sql = new StringJoiner("; ");
+        String parameterTypes = "[]";
+        for (QueryInfo queryInfo : queryInfoList) {
+            sql.add(queryInfo.getQuery());
+            if (!queryInfo.getParametersList().isEmpty() && "[]".equals(parameterTypes)) {
+                parameterTypes = parameterTypes(queryInfo.getParametersList().get(0));
+            }
+        }
+        return "elapsedMs=" + execInfo.getElapsedTime()
+            + " success=" + execInfo.isSuccess()
+            + " batchSize=" + execInfo.getBatchSize()
+            + " origin=" + originatingServiceMethod().orElse("unknown")
+            + " parameterTypes=" + parameterTypes
+            + " sql=" + sql;
+    }
+
+    private static String parameterTypes(List<ParameterSetOperation> parameters) {
+        StringJoiner types = new StringJoiner(", ", "[", "]");
+        // Recorded in binding order, which is positional order for Hibernate
+        for (ParameterSetOperation operation : parameters) {
+            Object[] args = operation.getArgs();
+            Object value = args.length > 1 ? args[1] : null;
+            types.add(value == null ? "null" : value.getClass().getSimpleName());
+        }
+        return types.toString();
+    }
+
+    // Only walked for statements that are actually logged
+    private static Optional<String> originatingServiceMethod() {
+        return StackWalker.getInstance().walk(frames -> frames
+            .filter(frame -> frame.getClassName().startsWith(SERVICE_PACKAGE))
+            .filter(frame -> !frame.getClassName().contains("$$"))
+            .findFirst()
+            .map(frame -> frame.getClassName().substring(SERVICE_PACKAGE.length()) + "." + frame.getMethodName()));
+    }
+}
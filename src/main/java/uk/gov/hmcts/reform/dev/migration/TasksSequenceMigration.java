@@ -0,0 +1,70 @@
+package uk.gov.hmcts.reform.dev.migration;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Moves {@code tasks_seq} past the ids already in {@code tasks}, straight after V1 created it.
+ * Databases that ddl-auto created before migrations existed hold IDENTITY ids, and the sequence
+ * would otherwise hand those out again. The restart value has to be a literal, which is why this is
+ * Java rather than SQL; {@code ALTER SEQUENCE ... RESTART WITH} works on both PostgreSQL and H2.
+ *
+ * <p>A Spring bean rather than a class in {@code db/migration}, so Flyway is handed it directly and
+ * nothing has to be found by classpath scanning, which a native image cannot do.
+ */
+@Component
+public class TasksSequenceMigration implements JavaMigration {
+
+    // Must match the allocationSize on Task.id: Hibernate's pooled optimizer hands out the block
+    // ending at the value the sequence returns
+    static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("1.1");
+    }
+
+    @Override
+    public String getDescription() {
+        return "restart tasks seq past existing ids";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean isUndo() {
+        return false;
+    }
+
+    @Override
+    public boolean isBaselineMigration() {
+        return false;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            long maxId;
+            try (ResultSet result = statement.executeQuery("SELECT MAX(id) FROM tasks")) {
+                result.next();
+                maxId = result.getLong(1);
+            }
+            if (maxId > 0) {
+                statement.execute("ALTER SEQUENCE tasks_seq RESTART WITH " + (maxId + ALLOCATION_SIZE));
+            }
+        }
+    }
+}
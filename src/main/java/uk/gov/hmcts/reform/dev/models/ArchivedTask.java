@@ -0,0 +1,53 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * A task moved out of {@code tasks} by the archiver, kept with its id so it can be restored as it was.
+ */
+@Entity
+@Table(name = "tasks_archive")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ArchivedTask {
+    @Id
+    private Long id;
+
+    private String title;
+
+    @Column(length = 500)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 20)
+    private TaskStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime createdDate;
+
+    private LocalDateTime dueDate;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(nullable = false)
+    private LocalDateTime lastModifiedDate;
+
+    // Set when the task had been deleted before it was archived
+    private LocalDateTime deletedDate;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedDate;
+}
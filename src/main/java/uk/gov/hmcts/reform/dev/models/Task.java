@@ -6,7 +6,11 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.type.SqlTypes;
 import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
@@ -14,22 +18,45 @@ import java.time.LocalDateTime;
 @Entity
 @EntityListeners(AuditingEntityListener.class)
 @Table(name = "tasks")
+// Deleted tasks stay in the table until they are archived, but no query sees them
+@SQLRestriction("deleted_date is null")
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
 @Setter
 public class Task {
+    // Pooled sequence ids are allocated in blocks, which lets Hibernate batch inserts. TasksSequenceMigration
+    // moves the sequence past ids created before it existed, and relies on this allocationSize
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     private String title;
+
+    @Column(length = 500)
     private String description;
-    private String status;
+
+    // Plain VARCHAR plus a CHECK constraint rather than a dialect-specific enum type
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 20)
+    private TaskStatus status;
 
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdDate;
 
     private LocalDateTime dueDate;
+
+    @Version
+    private Long version;
+
+    // Set on every write, including the bulk status and delete updates, so the archiver can tell how
+    // long a task has been completed or cancelled
+    @LastModifiedDate
+    @Column(nullable = false)
+    private LocalDateTime lastModifiedDate;
+
+    private LocalDateTime deletedDate;
 }
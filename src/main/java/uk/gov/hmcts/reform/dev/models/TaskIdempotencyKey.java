@@ -0,0 +1,42 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "task_idempotency_keys")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+@Setter
+public class TaskIdempotencyKey {
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String key;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    // Null while the original request is still running
+    @Column(name = "status_code")
+    private Integer statusCode;
+
+    @Column(name = "response_headers", length = 4000)
+    private String responseHeaders;
+
+    @Column(name = "response_body", length = 1_000_000)
+    private String responseBody;
+
+    @Column(name = "created_date", nullable = false)
+    private LocalDateTime createdDate;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,47 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "task_outbox")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+@Setter
+public class TaskOutboxEvent {
+    // Ids give the relay its delivery order. Taken from the sequence one at a time, not in pooled
+    // blocks, so a task's next change, which cannot be written before this one commits, always sorts
+    // after it whichever instance writes it. Across tasks id order is only roughly commit order.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_outbox_seq")
+    @SequenceGenerator(name = "task_outbox_seq", sequenceName = "task_outbox_seq", allocationSize = 1)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "event_type", nullable = false, length = 20)
+    private TaskChangedEvent.Type eventType;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "task_version")
+    private Long taskVersion;
+
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(name = "created_date", nullable = false)
+    private LocalDateTime createdDate;
+}
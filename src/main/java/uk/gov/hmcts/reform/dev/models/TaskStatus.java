@@ -0,0 +1,39 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import uk.gov.hmcts.reform.dev.exception.InvalidRequestException;
+
+import java.util.Locale;
+
+/**
+ * Lifecycle states of a task, stored by name in a VARCHAR column guarded by a CHECK
+ * constraint (see the Flyway migrations) so the database and the enum stay in step.
+ */
+public enum TaskStatus {
+    PENDING,
+    OPEN,
+    IN_PROGRESS,
+    COMPLETED,
+    CANCELLED;
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == CANCELLED;
+    }
+
+    /**
+     * Lenient parse for request bodies, so "in progress" and "In-Progress" both mean IN_PROGRESS.
+     */
+    @JsonCreator
+    public static TaskStatus fromValue(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String normalised = value.trim().toUpperCase(Locale.ROOT).replace(' ', '_').replace('-', '_');
+        for (TaskStatus candidate : values()) {
+            if (candidate.name().equals(normalised)) {
+                return candidate;
+            }
+        }
+        throw new InvalidRequestException("Unsupported status: " + value);
+    }
+}
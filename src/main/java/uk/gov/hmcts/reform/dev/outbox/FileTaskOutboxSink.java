@@ -0,0 +1,42 @@
+package uk.gov.hmcts.reform.dev.outbox;
+
+import uk.gov.hmcts.reform.dev.models.TaskOutboxEvent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends each batch to an NDJSON file and forces it to disk before the batch is
+ * acknowledged, so a crash can repeat lines but never lose them.
+ */
+public class FileTaskOutboxSink implements TaskOutboxSink {
+
+    private final Path file;
+
+    public FileTaskOutboxSink(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public synchronized void publish(List<TaskOutboxEvent> events) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (TaskOutboxEvent event : events) {
+            lines.append("{\"outboxId\":").append(event.getId())
+                .append(",\"event\":").append(event.getPayload())
+                .append("}\n");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package uk.gov.hmcts.reform.dev.outbox;
+
+import uk.gov.hmcts.reform.dev.models.TaskOutboxEvent;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Stand-in for a message broker: a bounded local queue that tests and local consumers can
+ * drain. A batch that does not fit is refused whole and retried on the next relay run.
+ */
+public class InMemoryTaskOutboxSink implements TaskOutboxSink {
+
+    private final BlockingQueue<TaskOutboxEvent> queue;
+
+    public InMemoryTaskOutboxSink(int capacity) {
+        this.queue = new LinkedBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public synchronized void publish(List<TaskOutboxEvent> events) throws IOException {
+        if (queue.remainingCapacity() < events.size()) {
+            throw new IOException("Outbox queue is full");
+        }
+        queue.addAll(events);
+    }
+
+    public List<TaskOutboxEvent> drain() {
+        List<TaskOutboxEvent> drained = new ArrayList<>();
+        queue.drainTo(drained);
+        return drained;
+    }
+}
@@ -0,0 +1,18 @@
+package uk.gov.hmcts.reform.dev.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import uk.gov.hmcts.reform.dev.models.TaskOutboxEvent;
+
+import java.util.List;
+
+@Slf4j
+public class LoggingTaskOutboxSink implements TaskOutboxSink {
+
+    @Override
+    public void publish(List<TaskOutboxEvent> events) {
+        for (TaskOutboxEvent event : events) {
+            log.info("Task outbox event id={} type={} taskId={} payload={}",
+                     event.getId(), event.getEventType(), event.getTaskId(), event.getPayload());
+        }
+    }
+}
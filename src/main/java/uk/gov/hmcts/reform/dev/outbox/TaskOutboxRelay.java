@@ -0,0 +1,146 @@
+package uk.gov.hmcts.reform.dev.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.config.TaskOutboxProperties;
+import uk.gov.hmcts.reform.dev.models.TaskOutboxEvent;
+import uk.gov.hmcts.reform.dev.repositories.TaskOutboxRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox to the configured sink in id order, one batch per transaction, on a
+ * single background thread so request handling never waits on the sink. Rows are deleted
+ * in the same transaction that hands them to the sink; if the sink or the commit fails the
+ * batch stays put and is sent again on the next run.
+ *
+ * <p>Id order is the order of each task's changes, not a global commit order: a transaction
+ * that took its id earlier can commit after later ids were relayed, and is then sent after them.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "tasks.outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TaskOutboxRelay implements SmartLifecycle {
+
+    private final TaskOutboxRepository outboxRepository;
+    private final TaskOutboxSink sink;
+    private final TaskOutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter published;
+    private final Counter failures;
+    private final Timer deliveryDelay;
+    private ScheduledExecutorService scheduler;
+
+    public TaskOutboxRelay(TaskOutboxRepository outboxRepository, TaskOutboxSink sink,
+                           TaskOutboxProperties properties, PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.sink = sink;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        TimeGauge.builder("tasks.outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::doubleValue)
+            .description("Age of the oldest undelivered outbox event at the last relay run")
+            .register(meterRegistry);
+        this.published = Counter.builder("tasks.outbox.published")
+            .description("Outbox events accepted by the sink")
+            .register(meterRegistry);
+        this.failures = Counter.builder("tasks.outbox.failures")
+            .description("Relay runs that failed and will be retried")
+            .register(meterRegistry);
+        this.deliveryDelay = Timer.builder("tasks.outbox.delivery.delay")
+            .description("Time from a task change being committed to the sink accepting it")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Relays batches until the outbox is empty and returns how many events were delivered.
+     */
+    public int relayPending() {
+        int relayed = 0;
+        int sent;
+        do {
+            sent = transactionTemplate.execute(status -> relayBatch());
+            relayed += sent;
+        } while (sent > 0 && sent == properties.getBatchSize());
+        return relayed;
+    }
+
+    private int relayBatch() {
+        List<TaskOutboxEvent> batch = outboxRepository.findAllByOrderByIdAsc(Limit.of(properties.getBatchSize()));
+        LocalDateTime now = LocalDateTime.now();
+        if (batch.isEmpty()) {
+            lagMillis.set(0);
+            return 0;
+        }
+        lagMillis.set(Math.max(0, Duration.between(batch.get(0).getCreatedDate(), now).toMillis()));
+        try {
+            sink.publish(batch);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        outboxRepository.deleteAllByIdInBatch(batch.stream().map(TaskOutboxEvent::getId).toList());
+        published.increment(batch.size());
+        for (TaskOutboxEvent event : batch) {
+            deliveryDelay.record(Duration.between(event.getCreatedDate(), now));
+        }
+        return batch.size();
+    }
+
+    private void runSafely() {
+        try {
+            relayPending();
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Task outbox relay failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        long interval = properties.getPollInterval().toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("task-outbox-relay").daemon().factory()
+        );
+        scheduler.scheduleWithFixedDelay(this::runSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(properties.getPollInterval().toMillis() * 2, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        scheduler = null;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+}
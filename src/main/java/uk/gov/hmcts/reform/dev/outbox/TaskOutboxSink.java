@@ -0,0 +1,16 @@
+package uk.gov.hmcts.reform.dev.outbox;
+
+import uk.gov.hmcts.reform.dev.models.TaskOutboxEvent;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Where relayed outbox events go. A batch is only removed from the outbox once this returns,
+ * so an implementation must either accept the whole batch or throw; anything that fails part
+ * way through will see the batch again, which makes delivery at-least-once.
+ */
+public interface TaskOutboxSink {
+
+    void publish(List<TaskOutboxEvent> events) throws IOException;
+}
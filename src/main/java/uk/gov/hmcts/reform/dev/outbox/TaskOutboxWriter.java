@@ -0,0 +1,43 @@
+package uk.gov.hmcts.reform.dev.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.models.TaskOutboxEvent;
+import uk.gov.hmcts.reform.dev.repositories.TaskOutboxRepository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records every task change in the outbox. A plain listener runs inside the publishing
+ * transaction, so the row commits or rolls back together with the change itself.
+ */
+@Component
+@ConditionalOnProperty(prefix = "tasks.outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TaskOutboxWriter {
+
+    private final TaskOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public TaskOutboxWriter(TaskOutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTaskChanged(TaskChangedEvent event) throws JsonProcessingException {
+        outboxRepository.save(TaskOutboxEvent.builder()
+                                  .eventType(event.getType())
+                                  .taskId(event.getTaskId())
+                                  .taskVersion(event.getVersion())
+                                  .payload(objectMapper.writeValueAsString(event))
+                                  .createdDate(LocalDateTime.now())
+                                  .build());
+    }
+}
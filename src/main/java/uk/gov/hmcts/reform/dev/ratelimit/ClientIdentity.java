@@ -0,0 +1,16 @@
+package uk.gov.hmcts.reform.dev.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Tells clients apart by a header, falling back to the remote address, which is only the client's
+ * own behind a proxy when {@code server.forward-headers-strategy} is set. Shared by everything that
+ * keeps state per client, so a client is the same client to each of them.
+ */
+public record ClientIdentity(String header) {
+
+    public String of(HttpServletRequest request) {
+        String client = request.getHeader(header);
+        return client == null || client.isBlank() ? "ip:" + request.getRemoteAddr() : "id:" + client;
+    }
+}
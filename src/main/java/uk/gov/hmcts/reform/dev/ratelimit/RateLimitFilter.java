@@ -0,0 +1,70 @@
+package uk.gov.hmcts.reform.dev.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import uk.gov.hmcts.reform.dev.exception.ErrorResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Turns away clients that exceed their rate with a 429 and {@code Retry-After}, before any work
+ * is done for them. Clients are told apart by {@link ClientIdentity}.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final ClientIdentity clients;
+    private final Counter allowed;
+    private final Counter rejected;
+
+    public RateLimitFilter(TokenBucketRateLimiter rateLimiter, ObjectMapper objectMapper, ClientIdentity clients,
+                           MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.clients = clients;
+        this.allowed = requests(meterRegistry, "allowed");
+        this.rejected = requests(meterRegistry, "rejected");
+        Gauge.builder("tasks.ratelimit.clients", rateLimiter, TokenBucketRateLimiter::trackedClients)
+            .description("Clients with a rate limit bucket")
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Duration wait = rateLimiter.tryAcquire(clients.of(request));
+        if (wait.isZero()) {
+            allowed.increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+        rejected.increment();
+        // Whole seconds, rounded up so a client that honours it is let through
+        long retryAfter = Math.max(1, (wait.toMillis() + 999) / 1000);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(
+            HttpStatus.TOO_MANY_REQUESTS.name(), List.of("Rate limit exceeded, try again in " + retryAfter + "s")));
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("tasks.ratelimit.requests")
+            .description("Requests checked against the per-client rate limit")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,67 @@
+package uk.gov.hmcts.reform.dev.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket per client, refilled at {@code requestsPerSecond} and holding at most
+ * {@code burst} tokens.
+ *
+ * <p>Each bucket is kept as a single {@link AtomicLong} in the form of the generic cell rate
+ * algorithm: the time at which the bucket would be full again, advanced by one refill interval
+ * per request. Taking a token is one compare-and-set, so requests never lock. Buckets live in a
+ * bounded cache and are dropped once idle long enough to have refilled, which loses nothing.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long refillIntervalNanos;
+    private final long burstToleranceNanos;
+    private final Ticker ticker;
+    private final Cache<String, AtomicLong> buckets;
+
+    public TokenBucketRateLimiter(double requestsPerSecond, int burst, long maximumClients) {
+        this(requestsPerSecond, burst, maximumClients, Ticker.systemTicker());
+    }
+
+    TokenBucketRateLimiter(double requestsPerSecond, int burst, long maximumClients, Ticker ticker) {
+        if (requestsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate limit needs a positive rate and a burst of at least 1");
+        }
+        this.refillIntervalNanos = Math.max(1, (long) (1_000_000_000L / requestsPerSecond));
+        this.burstToleranceNanos = refillIntervalNanos * (burst - 1);
+        this.ticker = ticker;
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(maximumClients)
+            .expireAfterAccess(Duration.ofNanos(refillIntervalNanos * burst))
+            .ticker(ticker)
+            .build();
+    }
+
+    /**
+     * Takes a token for {@code client}. Returns zero if one was available, otherwise how long
+     * until the next one is, without taking anything.
+     */
+    public Duration tryAcquire(String client) {
+        long now = ticker.read();
+        AtomicLong fullAt = buckets.get(client, key -> new AtomicLong(now));
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now);
+            long wait = next - burstToleranceNanos - now;
+            if (wait > 0) {
+                return Duration.ofNanos(wait);
+            }
+            if (fullAt.compareAndSet(current, next + refillIntervalNanos)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+
+    public long trackedClients() {
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,62 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import uk.gov.hmcts.reform.dev.models.ArchivedTask;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Moves rows between {@code tasks} and {@code tasks_archive}. The queries on {@code tasks} are native
+ * because they have to see deleted rows, which the Task entity hides.
+ */
+@Repository
+public interface TaskArchiveRepository extends JpaRepository<ArchivedTask, Long> {
+
+    /**
+     * Locks up to {@code limit} live tasks in one of {@code statuses} last changed before {@code cutoff}.
+     * Rows another transaction holds are skipped rather than waited for, and picked up on a later run.
+     */
+    @Query(value = "SELECT id FROM tasks WHERE status IN (:statuses) AND last_modified_date < :cutoff "
+        + "AND deleted_date IS NULL LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockFinishedBefore(@Param("statuses") Collection<String> statuses,
+                                  @Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * As {@link #lockFinishedBefore} for tasks deleted before {@code cutoff}.
+     */
+    @Query(value = "SELECT id FROM tasks WHERE deleted_date < :cutoff LIMIT :limit FOR UPDATE SKIP LOCKED",
+        nativeQuery = true)
+    List<Long> lockDeletedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "INSERT INTO tasks_archive (id, title, description, status, created_date, due_date, version, "
+        + "last_modified_date, deleted_date, archived_date) "
+        + "SELECT id, title, description, status, created_date, due_date, version, last_modified_date, deleted_date, "
+        + ":now FROM tasks WHERE id IN (:ids)", nativeQuery = true)
+    int copyToArchive(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "DELETE FROM tasks WHERE id IN (:ids)", nativeQuery = true)
+    int deleteFromTasks(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Copies an archived task back into {@code tasks} as a live task, one version on, and counting as
+     * changed {@code now} so it is not archived again straight away.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO tasks (id, title, description, status, created_date, due_date, version, "
+        + "last_modified_date, deleted_date) "
+        + "SELECT id, title, description, status, created_date, due_date, version + 1, :now, NULL "
+        + "FROM tasks_archive WHERE id = :id", nativeQuery = true)
+    int copyToTasks(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("delete from ArchivedTask a where a.id = :id")
+    int deleteArchivedById(@Param("id") Long id);
+}
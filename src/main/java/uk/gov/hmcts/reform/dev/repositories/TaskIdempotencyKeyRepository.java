@@ -0,0 +1,40 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import uk.gov.hmcts.reform.dev.models.TaskIdempotencyKey;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface TaskIdempotencyKeyRepository extends JpaRepository<TaskIdempotencyKey, String> {
+
+    // A plain insert, so a concurrent claim on another instance fails on the primary key instead of merging
+    @Modifying
+    @Query(value = "INSERT INTO task_idempotency_keys (idempotency_key, request_hash, created_date, expires_at) "
+        + "VALUES (:key, :requestHash, :now, :expiresAt)", nativeQuery = true)
+    int insertClaim(@Param("key") String key, @Param("requestHash") String requestHash,
+                    @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Takes over a key whose record has expired, or whose request was claimed before
+     * {@code abandonedBefore} and never finished, e.g. because its instance died.
+     */
+    @Modifying
+    @Query("update TaskIdempotencyKey k set k.requestHash = :requestHash, k.statusCode = null, "
+        + "k.responseHeaders = null, k.responseBody = null, k.createdDate = :now, k.expiresAt = :expiresAt "
+        + "where k.key = :key and (k.expiresAt < :now or (k.statusCode is null and k.createdDate < :abandonedBefore))")
+    int reclaim(@Param("key") String key, @Param("requestHash") String requestHash, @Param("now") LocalDateTime now,
+                @Param("expiresAt") LocalDateTime expiresAt, @Param("abandonedBefore") LocalDateTime abandonedBefore);
+
+    @Modifying
+    @Query("delete from TaskIdempotencyKey k where k.key = :key and k.statusCode is null")
+    int deleteClaim(@Param("key") String key);
+
+    @Modifying
+    @Query("delete from TaskIdempotencyKey k where k.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,19 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+import uk.gov.hmcts.reform.dev.models.TaskOutboxEvent;
+
+import java.util.List;
+
+@Repository
+public interface TaskOutboxRepository extends JpaRepository<TaskOutboxEvent, Long> {
+
+    // Row locks stop two instances relaying the same batch; the second waits and then finds it gone.
+    // Id order is each task's change order, see TaskOutboxEvent.id
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<TaskOutboxEvent> findAllByOrderByIdAsc(Limit limit);
+}
@@ -1,10 +1,97 @@
 package uk.gov.hmcts.reform.dev.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import uk.gov.hmcts.reform.dev.dto.TaskResponseDto;
 import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
-}
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+
+    String EXPORT_FETCH_SIZE = "1000";
+
+    /**
+     * Streams every task as a DTO projection straight off a JDBC cursor. Nothing is
+     * attached to the persistence context, so memory stays flat however many rows
+     * there are. Must be consumed inside a transaction and closed by the caller.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new uk.gov.hmcts.reform.dev.dto.TaskResponseDto("
+        + "t.id, t.title, t.description, t.status, t.dueDate, t.version) from Task t order by t.id")
+    Stream<TaskResponseDto> streamAllForExport();
+
+    /**
+     * Streams just the columns the statistics need, for rebuilding them from scratch.
+     * Same cursor rules as {@link #streamAllForExport()}.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new uk.gov.hmcts.reform.dev.repositories.TaskStateRow(t.id, t.status, t.dueDate, t.version) "
+        + "from Task t")
+    Stream<TaskStateRow> streamAllStates();
+
+    /**
+     * Changes the status in a single UPDATE, bumping the version so optimistic
+     * checks elsewhere still see the change. Returns the number of rows updated.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.status = :status, t.version = t.version + 1, "
+        + "t.lastModifiedDate = local datetime where t.id = :id and t.deletedDate is null")
+    int updateStatus(@Param("id") Long id, @Param("status") TaskStatus status);
 
+    /**
+     * As {@link #updateStatus} but only while the row is still at the expected version,
+     * so a conditional request can't overwrite a change it has not seen.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.status = :status, t.version = t.version + 1, t.lastModifiedDate = local datetime "
+        + "where t.id = :id and t.version = :version and t.deletedDate is null")
+    int updateStatusIfVersion(@Param("id") Long id, @Param("status") TaskStatus status, @Param("version") Long version);
+
+    /**
+     * Soft deletes in a single statement without loading the row first: the row stays, hidden from every
+     * query, until the archiver moves it to {@code tasks_archive}. Returns the number of rows deleted.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.deletedDate = local datetime, t.lastModifiedDate = local datetime, "
+        + "t.version = t.version + 1 where t.id = :id and t.deletedDate is null")
+    int deleteTaskById(@Param("id") Long id);
+
+    /**
+     * As {@link #deleteTaskById} for many tasks in one statement.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.deletedDate = local datetime, t.lastModifiedDate = local datetime, "
+        + "t.version = t.version + 1 where t.id in :ids and t.deletedDate is null")
+    int deleteTasksById(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Brings back a soft deleted task that has not been archived yet. Native, because the entity's
+     * restriction hides deleted rows from JPQL. Returns the number of rows restored.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE tasks SET deleted_date = NULL, last_modified_date = :now, version = version + 1 "
+        + "WHERE id = :id AND deleted_date IS NOT NULL", nativeQuery = true)
+    int undeleteTaskById(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Query("select t.id from Task t where t.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+}
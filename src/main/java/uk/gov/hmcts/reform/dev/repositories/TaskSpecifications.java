@@ -0,0 +1,73 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import org.springframework.data.jpa.domain.Specification;
+import uk.gov.hmcts.reform.dev.dto.TaskFilterDto;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+import uk.gov.hmcts.reform.dev.services.TaskPageCursor;
+import uk.gov.hmcts.reform.dev.services.TaskSort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Predicates for the task listing. Only the filters that are actually set end up in
+ * the SQL, so the database can pick an index for the exact combination requested.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> forPage(TaskFilterDto filter, TaskSort sort, TaskPageCursor after) {
+        List<Specification<Task>> predicates = new ArrayList<>();
+        if (filter != null) {
+            if (filter.getStatus() != null) {
+                predicates.add(hasStatus(filter.getStatus()));
+            }
+            if (filter.getDueFrom() != null) {
+                predicates.add(dueOnOrAfter(filter.getDueFrom()));
+            }
+            if (filter.getDueTo() != null) {
+                predicates.add(dueBefore(filter.getDueTo()));
+            }
+        }
+        if (sort == TaskSort.DUE_DATE) {
+            // Keyset ordering needs a value to compare, undated tasks are only listed by id
+            predicates.add(hasDueDate());
+        }
+        if (after != null) {
+            predicates.add(sort == TaskSort.DUE_DATE ? dueDateAfter(after.getDueDate(), after.getId())
+                               : idAfter(after.getId()));
+        }
+        return Specification.allOf(predicates);
+    }
+
+    public static Specification<Task> hasStatus(TaskStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Task> dueOnOrAfter(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.<LocalDateTime>get("dueDate"), from);
+    }
+
+    public static Specification<Task> dueBefore(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThan(root.<LocalDateTime>get("dueDate"), to);
+    }
+
+    public static Specification<Task> hasDueDate() {
+        return (root, query, cb) -> cb.isNotNull(root.get("dueDate"));
+    }
+
+    public static Specification<Task> idAfter(long id) {
+        return (root, query, cb) -> cb.greaterThan(root.<Long>get("id"), id);
+    }
+
+    public static Specification<Task> dueDateAfter(LocalDateTime dueDate, long id) {
+        return (root, query, cb) -> cb.or(
+            cb.greaterThan(root.<LocalDateTime>get("dueDate"), dueDate),
+            cb.and(cb.equal(root.get("dueDate"), dueDate), cb.greaterThan(root.<Long>get("id"), id))
+        );
+    }
+}
@@ -0,0 +1,11 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * The fields of a task that the statistics are derived from.
+ */
+public record TaskStateRow(Long id, TaskStatus status, LocalDateTime dueDate, Long version) {
+}
@@ -0,0 +1,420 @@
+package uk.gov.hmcts.reform.dev.search;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.config.TaskSearchProperties;
+import uk.gov.hmcts.reform.dev.datasource.ReadYourWrites;
+import uk.gov.hmcts.reform.dev.dto.TaskResponseDto;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over task titles and descriptions, ranked with BM25.
+ *
+ * <p>Each indexed task version gets an ordinal, and every term keeps a postings list of
+ * (ordinal, term frequency) pairs. Ordinals only ever grow, so postings stay sorted and a
+ * multi-term query is a merge of sorted int arrays starting from the rarest term. An update
+ * retires the old ordinal and indexes the task under a new one; once retired ordinals outnumber
+ * live ones the postings are compacted.
+ *
+ * <p>The index is built from the database once the application is ready, retried with a growing
+ * delay until that succeeds, and then follows committed {@link TaskChangedEvent}s. Every
+ * {@code rebuild-interval} it is built again from scratch and swapped in, which picks up writes
+ * committed by other instances. Changes that arrive during a build are applied to the index in
+ * use and held back for the new one, so a task deleted mid-build cannot be resurrected by it.
+ */
+@Slf4j
+@Component
+public class TaskSearchIndex {
+
+    // Standard BM25 parameters; title terms count double so a title match outranks a description match
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int TITLE_WEIGHT = 2;
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int COMPACT_MIN_RETIRED = 1024;
+    private static final Duration FIRST_RETRY = Duration.ofSeconds(1);
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration rebuildInterval;
+    private Index index = new Index();
+    private List<TaskChangedEvent> pending = new ArrayList<>();
+    private volatile boolean ready;
+    private int failedLoads;
+    private ScheduledExecutorService loader;
+
+    public TaskSearchIndex(TaskRepository taskRepository, PlatformTransactionManager transactionManager,
+                           TaskSearchProperties properties) {
+        this.taskRepository = taskRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.rebuildInterval = properties.getRebuildInterval();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.ordinalsByTaskId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        loader = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("task-search-load").daemon().factory()
+        );
+        loader.execute(this::loadAndReschedule);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (loader != null) {
+            loader.shutdownNow();
+        }
+    }
+
+    private void loadAndReschedule() {
+        Duration next;
+        if (loadFromDatabase()) {
+            failedLoads = 0;
+            next = rebuildInterval;
+        } else {
+            next = retryDelay(++failedLoads, rebuildInterval);
+            log.info("Retrying the task search index load in {}", next);
+        }
+        if (!loader.isShutdown()) {
+            loader.schedule(this::loadAndReschedule, next.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Doubles with every failure, up to the rebuild interval
+    static Duration retryDelay(int failures, Duration max) {
+        Duration delay = FIRST_RETRY.multipliedBy(1L << Math.min(failures - 1, 20));
+        return delay.compareTo(max) > 0 ? max : delay;
+    }
+
+    // From the primary, as a lagging replica could miss tasks whose events were already applied
+    boolean loadFromDatabase() {
+        long started = System.nanoTime();
+        try {
+            ReadYourWrites.runOnPrimary(() -> readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<TaskResponseDto> tasks = taskRepository.streamAllForExport()) {
+                    load(tasks);
+                }
+            }));
+            log.info("Task search index loaded {} tasks in {}ms", size(), (System.nanoTime() - started) / 1_000_000);
+            return true;
+        } catch (RuntimeException e) {
+            log.error(ready ? "Task search index rebuild failed; keeping the current index"
+                          : "Task search index failed to load; search stays unavailable", e);
+            stopHoldingBackChanges();
+            return false;
+        }
+    }
+
+    // After commit only, so a rolled back write is never searchable
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            index.apply(event);
+            if (pending != null) {
+                pending.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void load(Stream<TaskResponseDto> tasks) {
+        lock.writeLock().lock();
+        try {
+            if (pending == null) {
+                pending = new ArrayList<>();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        // Built off to the side, so searches and changes carry on against the current index meanwhile
+        Index rebuilt = new Index();
+        tasks.forEach(rebuilt::upsert);
+        lock.writeLock().lock();
+        try {
+            pending.forEach(rebuilt::apply);
+            pending = null;
+            index = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void stopHoldingBackChanges() {
+        lock.writeLock().lock();
+        try {
+            pending = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the matches for every term of the query, best first, skipping {@code offset}
+     * of them and returning at most {@code limit}. Ranking keeps {@code offset + limit} hits,
+     * so callers bound how deep a page can go.
+     */
+    public SearchResult search(String query, int offset, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty()) {
+            return new SearchResult(0, List.of());
+        }
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Postings list = index.postings.get(term);
+                if (list == null) {
+                    return new SearchResult(0, List.of());
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            return index.rank(lists, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int addTerms(Map<String, Integer> frequencies, String text, int weight) {
+        List<String> terms = tokenize(text);
+        terms.forEach(term -> frequencies.merge(term, weight, Integer::sum));
+        return terms.size() * weight;
+    }
+
+    private static float bm25(float idf, int frequency, float norm) {
+        return idf * frequency * (K1 + 1) / (frequency + norm);
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() >= MIN_TERM_LENGTH) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    // One generation of the index; a rebuild fills a new one and swaps it in
+    private static final class Index {
+        private final Map<String, Postings> postings = new HashMap<>();
+        private final Map<Long, Integer> ordinalsByTaskId = new HashMap<>();
+        private final BitSet live = new BitSet();
+        private long[] taskIds = new long[1024];
+        private long[] versions = new long[1024];
+        private int[] lengths = new int[1024];
+        private int nextOrdinal;
+        private long liveLength;
+
+        SearchResult rank(List<Postings> lists, int offset, int limit) {
+            int documents = ordinalsByTaskId.size();
+            float averageLength = documents == 0 ? 1 : (float) liveLength / documents;
+            float[] idf = new float[lists.size()];
+            for (int i = 0; i < lists.size(); i++) {
+                int df = lists.get(i).size;
+                idf[i] = (float) Math.log(1 + (Math.max(0, documents - df) + 0.5) / (df + 0.5));
+            }
+
+            int keep = offset + limit;
+            PriorityQueue<Hit> top = new PriorityQueue<>(Math.max(1, keep), Hit.WORST_FIRST);
+            int[] cursors = new int[lists.size()];
+            Postings rarest = lists.get(0);
+            int total = 0;
+            candidates:
+            for (int i = 0; i < rarest.size; i++) {
+                int ordinal = rarest.ordinals[i];
+                if (!live.get(ordinal)) {
+                    continue;
+                }
+                float norm = K1 * (1 - B + B * lengths[ordinal] / averageLength);
+                float score = bm25(idf[0], rarest.frequencies[i], norm);
+                for (int j = 1; j < lists.size(); j++) {
+                    Postings list = lists.get(j);
+                    int found = Arrays.binarySearch(list.ordinals, cursors[j], list.size, ordinal);
+                    if (found < 0) {
+                        cursors[j] = -found - 1;
+                        continue candidates;
+                    }
+                    cursors[j] = found + 1;
+                    score += bm25(idf[j], list.frequencies[found], norm);
+                }
+                total++;
+                if (keep > 0) {
+                    Hit hit = new Hit(taskIds[ordinal], score);
+                    if (top.size() < keep) {
+                        top.add(hit);
+                    } else if (Hit.WORST_FIRST.compare(hit, top.peek()) > 0) {
+                        top.poll();
+                        top.add(hit);
+                    }
+                }
+            }
+
+            List<Hit> ranked = new ArrayList<>(top);
+            ranked.sort(Hit.WORST_FIRST.reversed());
+            return new SearchResult(total,
+                                    offset >= ranked.size() ? List.of() : ranked.subList(offset, ranked.size()));
+        }
+
+        void apply(TaskChangedEvent event) {
+            if (event.getType() == TaskChangedEvent.Type.DELETED) {
+                remove(event.getTaskId());
+            } else if (event.getTask() != null) {
+                upsert(event.getTask());
+            }
+        }
+
+        void upsert(TaskResponseDto task) {
+            Integer existing = ordinalsByTaskId.get(task.getId());
+            if (existing != null) {
+                if (task.getVersion() != null && versions[existing] > task.getVersion()) {
+                    return;
+                }
+                retire(existing);
+            }
+            Map<String, Integer> frequencies = new HashMap<>();
+            int length = addTerms(frequencies, task.getTitle(), TITLE_WEIGHT)
+                + addTerms(frequencies, task.getDescription(), 1);
+            int ordinal = nextOrdinal++;
+            ensureCapacity(ordinal);
+            taskIds[ordinal] = task.getId();
+            versions[ordinal] = task.getVersion() == null ? 0 : task.getVersion();
+            lengths[ordinal] = length;
+            live.set(ordinal);
+            liveLength += length;
+            ordinalsByTaskId.put(task.getId(), ordinal);
+            frequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, key -> new Postings())
+                .add(ordinal, frequency));
+            compactIfNeeded();
+        }
+
+        private void remove(Long taskId) {
+            Integer existing = ordinalsByTaskId.remove(taskId);
+            if (existing != null) {
+                retire(existing);
+                compactIfNeeded();
+            }
+        }
+
+        private void retire(int ordinal) {
+            live.clear(ordinal);
+            liveLength -= lengths[ordinal];
+        }
+
+        private void compactIfNeeded() {
+            int retired = nextOrdinal - ordinalsByTaskId.size();
+            if (retired < COMPACT_MIN_RETIRED || retired < ordinalsByTaskId.size()) {
+                return;
+            }
+            // Renumber live ordinals in their existing order, which keeps every postings list sorted
+            int[] remap = new int[nextOrdinal];
+            int compacted = 0;
+            for (int ordinal = live.nextSetBit(0); ordinal >= 0; ordinal = live.nextSetBit(ordinal + 1)) {
+                remap[ordinal] = compacted;
+                taskIds[compacted] = taskIds[ordinal];
+                versions[compacted] = versions[ordinal];
+                lengths[compacted] = lengths[ordinal];
+                compacted++;
+            }
+            postings.values().removeIf(list -> list.compact(live, remap) == 0);
+            ordinalsByTaskId.replaceAll((taskId, ordinal) -> remap[ordinal]);
+            live.clear();
+            live.set(0, compacted);
+            nextOrdinal = compacted;
+        }
+
+        private void ensureCapacity(int ordinal) {
+            if (ordinal < taskIds.length) {
+                return;
+            }
+            int capacity = Math.max(ordinal + 1, taskIds.length * 2);
+            taskIds = Arrays.copyOf(taskIds, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+        }
+    }
+
+    public record Hit(long taskId, float score) {
+        // Lower score first, and for equal scores the higher id, so the heap evicts those first
+        static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble(Hit::score)
+            .thenComparing(Comparator.comparingLong(Hit::taskId).reversed());
+    }
+
+    public record SearchResult(int total, List<Hit> hits) {
+    }
+
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        private void add(int ordinal, int frequency) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ordinals[size] = ordinal;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        private int compact(BitSet live, int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (live.get(ordinals[i])) {
+                    ordinals[kept] = remap[ordinals[i]];
+                    frequencies[kept] = frequencies[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            return kept;
+        }
+    }
+}
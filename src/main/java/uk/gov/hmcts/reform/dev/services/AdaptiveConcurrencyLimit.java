@@ -0,0 +1,99 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A concurrency limit that follows latency, after the gradient algorithm of Netflix's
+ * concurrency-limits library. A slow average of call latency stands for the latency of an
+ * unloaded service and a fast one for the latency now. While the fast average stays within
+ * {@code tolerance} times the slow one the limit grows; beyond that it shrinks in proportion.
+ * The limit is left alone while fewer than half the allowed calls are in flight, since latency
+ * then says nothing about whether more calls would fit.
+ *
+ * <p>The averages and the limit are one immutable snapshot swapped in with a compare-and-set, so
+ * releasing a call never takes a lock. When two releases race, the loser's sample is dropped
+ * rather than retried; the averages are built to shrug off a missing sample.
+ */
+class AdaptiveConcurrencyLimit {
+
+    private static final double SHORT_WEIGHT = 0.1;
+    private static final double LONG_WEIGHT = 0.002;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicReference<Estimate> estimate;
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.estimate = new AtomicReference<>(new Estimate(Math.clamp(initialLimit, minLimit, maxLimit), 0, 0));
+    }
+
+    boolean tryAcquire() {
+        int limit = limit();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Ends a call that {@link #tryAcquire()} let in, feeding its latency into the limit.
+     */
+    void release(long rttNanos) {
+        int callsInFlight = inFlight.getAndDecrement();
+        update(rttNanos, callsInFlight);
+    }
+
+    int limit() {
+        return estimate.get().limit();
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private void update(long rttNanos, int callsInFlight) {
+        Estimate current = estimate.get();
+        estimate.compareAndSet(current, next(current, rttNanos, callsInFlight));
+    }
+
+    private Estimate next(Estimate current, long rttNanos, int callsInFlight) {
+        if (current.shortRtt() == 0) {
+            return new Estimate(current.estimatedLimit(), rttNanos, rttNanos);
+        }
+        double shortRtt = current.shortRtt() + (rttNanos - current.shortRtt()) * SHORT_WEIGHT;
+        double longRtt = current.longRtt() + (rttNanos - current.longRtt()) * LONG_WEIGHT;
+        // After a long overload the slow average has crept up too; pull it back so it can recover
+        if (longRtt > 2 * shortRtt) {
+            longRtt *= 0.95;
+        }
+        double estimatedLimit = current.estimatedLimit();
+        if (callsInFlight < estimatedLimit / 2) {
+            return new Estimate(estimatedLimit, shortRtt, longRtt);
+        }
+        double gradient = Math.clamp(tolerance * longRtt / shortRtt, 0.5, 1.0);
+        double queueAllowance = Math.sqrt(estimatedLimit);
+        double target = estimatedLimit * gradient + queueAllowance;
+        estimatedLimit = Math.clamp(estimatedLimit * (1 - smoothing) + target * smoothing, minLimit, maxLimit);
+        return new Estimate(estimatedLimit, shortRtt, longRtt);
+    }
+
+    private record Estimate(double estimatedLimit, double shortRtt, double longRtt) {
+
+        int limit() {
+            return (int) estimatedLimit;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read whose concurrent calls with equal arguments may share a single execution and
+ * its result. See {@link TaskSingleFlightAspect}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+
+    /**
+     * Operation name the coalescing metrics are tagged with.
+     */
+    String value();
+}
@@ -0,0 +1,58 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.dev.dto.TaskResponseDto;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.exception.ResourceNotFoundException;
+import uk.gov.hmcts.reform.dev.mappers.TaskMapper;
+import uk.gov.hmcts.reform.dev.repositories.TaskArchiveRepository;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+
+import java.time.LocalDateTime;
+
+import static uk.gov.hmcts.reform.dev.services.TaskService.OPERATION_TIMER;
+
+/**
+ * Brings back tasks that were deleted, whether they are still in {@code tasks} or have already been
+ * moved to {@code tasks_archive}, and tasks the archiver moved after they were completed or cancelled.
+ */
+@Service
+public class TaskArchiveService {
+
+    private final TaskRepository taskRepository;
+    private final TaskArchiveRepository archiveRepository;
+    private final TaskMapper taskMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TaskArchiveService(TaskRepository taskRepository, TaskArchiveRepository archiveRepository,
+                              TaskMapper taskMapper, ApplicationEventPublisher eventPublisher) {
+        this.taskRepository = taskRepository;
+        this.archiveRepository = archiveRepository;
+        this.taskMapper = taskMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Restores the task and returns it. Restoring a task that is already live returns it unchanged.
+     */
+    @Timed(value = OPERATION_TIMER, extraTags = {"operation", "restore"})
+    @Transactional
+    public TaskResponseDto restoreTask(Long id) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean restored = taskRepository.undeleteTaskById(id, now) == 1;
+        if (!restored && archiveRepository.copyToTasks(id, now) == 1) {
+            archiveRepository.deleteArchivedById(id);
+            restored = true;
+        }
+        TaskResponseDto task = taskMapper.toResponse(taskRepository.findById(id).orElseThrow(
+            () -> new ResourceNotFoundException("Task not found")
+        ));
+        if (restored) {
+            eventPublisher.publishEvent(TaskChangedEvent.created(task));
+        }
+        return task;
+    }
+}
@@ -0,0 +1,265 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.dev.config.TaskBatchProperties;
+import uk.gov.hmcts.reform.dev.dto.TaskBatchItemResultDto;
+import uk.gov.hmcts.reform.dev.dto.TaskBatchResultDto;
+import uk.gov.hmcts.reform.dev.dto.TaskRequestDto;
+import uk.gov.hmcts.reform.dev.dto.TaskResponseDto;
+import uk.gov.hmcts.reform.dev.dto.TaskStatusUpdateDto;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.exception.InvalidRequestException;
+import uk.gov.hmcts.reform.dev.mappers.TaskMapper;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static uk.gov.hmcts.reform.dev.config.TaskCacheConfig.TASKS_CACHE;
+
+/**
+ * Bulk create, status update and delete. Every item is validated on its own and gets
+ * its own result; valid items are written in chunks so Hibernate can send each chunk
+ * as one JDBC batch, and the persistence context is cleared between chunks. An id repeated
+ * in a status update or delete batch is a 400 for every item after the first, so each task
+ * is changed, and its change published, once.
+ */
+@Service
+public class TaskBatchService {
+
+    private static final String REPEATED_ID = "ID appears earlier in the batch";
+
+    private final TaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TaskBatchProperties batchProperties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TaskBatchService(TaskRepository taskRepository, TaskMapper taskMapper, Validator validator,
+                            EntityManager entityManager, TaskBatchProperties batchProperties,
+                            ApplicationEventPublisher eventPublisher) {
+        this.taskRepository = taskRepository;
+        this.taskMapper = taskMapper;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.batchProperties = batchProperties;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public TaskBatchResultDto createTasks(List<TaskRequestDto> requests) {
+        checkBatchSize(requests);
+        TaskBatchItemResultDto[] results = new TaskBatchItemResultDto[requests.size()];
+        List<Task> chunk = new ArrayList<>(batchProperties.getChunkSize());
+        List<Integer> chunkIndexes = new ArrayList<>(batchProperties.getChunkSize());
+
+        for (int index = 0; index < requests.size(); index++) {
+            TaskRequestDto request = requests.get(index);
+            List<String> errors = validate(request);
+            if (!errors.isEmpty()) {
+                results[index] = failure(index, null, HttpStatus.BAD_REQUEST, errors);
+                continue;
+            }
+            chunk.add(taskMapper.toEntity(request));
+            chunkIndexes.add(index);
+            if (chunk.size() == batchProperties.getChunkSize()) {
+                saveChunk(chunk, chunkIndexes, results);
+            }
+        }
+        saveChunk(chunk, chunkIndexes, results);
+        return summarise(results);
+    }
+
+    @CacheEvict(cacheNames = TASKS_CACHE, allEntries = true)
+    @Transactional
+    public TaskBatchResultDto updateStatuses(List<TaskStatusUpdateDto> updates) {
+        checkBatchSize(updates);
+        TaskBatchItemResultDto[] results = new TaskBatchItemResultDto[updates.size()];
+        List<Integer> chunkIndexes = new ArrayList<>(batchProperties.getChunkSize());
+        Set<Long> seen = new HashSet<>();
+
+        for (int index = 0; index < updates.size(); index++) {
+            List<String> errors = validate(updates.get(index));
+            if (!errors.isEmpty()) {
+                Long id = updates.get(index) == null ? null : updates.get(index).getId();
+                results[index] = failure(index, id, HttpStatus.BAD_REQUEST, errors);
+                continue;
+            }
+            if (!seen.add(updates.get(index).getId())) {
+                results[index] = failure(index, updates.get(index).getId(), HttpStatus.BAD_REQUEST,
+                                         List.of(REPEATED_ID));
+                continue;
+            }
+            chunkIndexes.add(index);
+            if (chunkIndexes.size() == batchProperties.getChunkSize()) {
+                updateChunk(updates, chunkIndexes, results);
+            }
+        }
+        updateChunk(updates, chunkIndexes, results);
+        return summarise(results);
+    }
+
+    @CacheEvict(cacheNames = TASKS_CACHE, allEntries = true)
+    @Transactional
+    public TaskBatchResultDto deleteTasks(List<Long> ids) {
+        checkBatchSize(ids);
+        TaskBatchItemResultDto[] results = new TaskBatchItemResultDto[ids.size()];
+        Set<Integer> repeated = repeatedIndexes(ids);
+
+        for (int start = 0; start < ids.size(); start += batchProperties.getChunkSize()) {
+            int end = Math.min(start + batchProperties.getChunkSize(), ids.size());
+            Set<Long> requested = new HashSet<>();
+            for (int index = start; index < end; index++) {
+                if (ids.get(index) != null && !repeated.contains(index)) {
+                    requested.add(ids.get(index));
+                }
+            }
+            Set<Long> existing = new HashSet<>();
+            if (!requested.isEmpty()) {
+                existing.addAll(taskRepository.findExistingIds(requested));
+            }
+            if (!existing.isEmpty()) {
+                taskRepository.deleteTasksById(existing);
+            }
+            for (int index = start; index < end; index++) {
+                Long id = ids.get(index);
+                if (id == null) {
+                    results[index] = failure(index, null, HttpStatus.BAD_REQUEST, List.of("ID must not be null"));
+                } else if (repeated.contains(index)) {
+                    results[index] = failure(index, id, HttpStatus.BAD_REQUEST, List.of(REPEATED_ID));
+                } else if (existing.contains(id)) {
+                    results[index] = success(index, id, HttpStatus.NO_CONTENT, null);
+                    eventPublisher.publishEvent(TaskChangedEvent.deleted(id));
+                } else {
+                    results[index] = failure(index, id, HttpStatus.NOT_FOUND, List.of("Task not found"));
+                }
+            }
+        }
+        return summarise(results);
+    }
+
+    private void saveChunk(List<Task> chunk, List<Integer> chunkIndexes, TaskBatchItemResultDto[] results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<Task> saved = taskRepository.saveAll(chunk);
+        flushAndClear();
+        for (int i = 0; i < saved.size(); i++) {
+            Task task = saved.get(i);
+            TaskResponseDto created = taskMapper.toResponse(task);
+            results[chunkIndexes.get(i)] = success(chunkIndexes.get(i), task.getId(), HttpStatus.CREATED, created);
+            eventPublisher.publishEvent(TaskChangedEvent.created(created));
+        }
+        chunk.clear();
+        chunkIndexes.clear();
+    }
+
+    private void updateChunk(List<TaskStatusUpdateDto> updates, List<Integer> chunkIndexes,
+                             TaskBatchItemResultDto[] results) {
+        if (chunkIndexes.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = chunkIndexes.stream().map(index -> updates.get(index).getId()).collect(Collectors.toSet());
+        Map<Long, Task> found = taskRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Task::getId, Function.identity()));
+        for (Integer index : chunkIndexes) {
+            TaskStatusUpdateDto update = updates.get(index);
+            Task task = found.get(update.getId());
+            if (task == null) {
+                results[index] = failure(index, update.getId(), HttpStatus.NOT_FOUND, List.of("Task not found"));
+            } else {
+                task.setStatus(update.getStatus());
+                results[index] = success(index, task.getId(), HttpStatus.OK, null);
+            }
+        }
+        // Dirty checking turns the changes into one batched UPDATE per chunk
+        flushAndClear();
+        for (Integer index : chunkIndexes) {
+            Task task = found.get(updates.get(index).getId());
+            if (task != null) {
+                TaskResponseDto updated = taskMapper.toResponse(task);
+                results[index].setTask(updated);
+                eventPublisher.publishEvent(TaskChangedEvent.statusChanged(updated));
+            }
+        }
+        chunkIndexes.clear();
+    }
+
+    // Indexes whose id already appeared earlier in the batch, wherever its chunk boundaries fall
+    private static Set<Integer> repeatedIndexes(List<Long> ids) {
+        Set<Long> seen = new HashSet<>();
+        Set<Integer> repeated = new HashSet<>();
+        for (int index = 0; index < ids.size(); index++) {
+            if (ids.get(index) != null && !seen.add(ids.get(index))) {
+                repeated.add(index);
+            }
+        }
+        return repeated;
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private <T> List<String> validate(T item) {
+        if (item == null) {
+            return List.of("Item must not be null");
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(item);
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.toList());
+    }
+
+    private void checkBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new InvalidRequestException("Batch must contain at least one item");
+        }
+        if (items.size() > batchProperties.getMaxItems()) {
+            throw new InvalidRequestException("Batch must not contain more than "
+                                                  + batchProperties.getMaxItems() + " items");
+        }
+    }
+
+    private static TaskBatchItemResultDto success(int index, Long id, HttpStatus status, TaskResponseDto task) {
+        return TaskBatchItemResultDto.builder()
+            .index(index)
+            .id(id)
+            .status(status.value())
+            .errors(List.of())
+            .task(task)
+            .build();
+    }
+
+    private static TaskBatchItemResultDto failure(int index, Long id, HttpStatus status, List<String> errors) {
+        return TaskBatchItemResultDto.builder()
+            .index(index)
+            .id(id)
+            .status(status.value())
+            .errors(errors)
+            .build();
+    }
+
+    private static TaskBatchResultDto summarise(TaskBatchItemResultDto[] results) {
+        int succeeded = (int) Arrays.stream(results).filter(result -> result.getStatus() < 400).count();
+        return TaskBatchResultDto.builder()
+            .succeeded(succeeded)
+            .failed(results.length - succeeded)
+            .results(Arrays.asList(results))
+            .build();
+    }
+}
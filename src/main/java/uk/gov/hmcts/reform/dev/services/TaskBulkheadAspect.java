@@ -0,0 +1,73 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.config.TaskBulkheadProperties;
+import uk.gov.hmcts.reform.dev.exception.ServiceOverloadedException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps how many task service calls touch the database at once. With virtual threads
+ * the servlet container no longer bounds concurrency, so without this every request
+ * would pile onto the connection pool. Runs outside the transaction so a waiting call
+ * never holds a connection, and inside {@link TaskSingleFlightAspect} and the task cache so
+ * calls waiting on another's result, or served from the cache, do not take a permit.
+ *
+ * <p>One permit covers everything a call does: a task service calling another on the same
+ * thread goes straight through rather than waiting for a second permit, which with every
+ * permit held by such outer calls would leave them all waiting on each other until they timed
+ * out. Off unless virtual threads are, as the Tomcat thread pool bounds concurrency otherwise.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+@ConditionalOnProperty(prefix = "tasks.bulkhead", name = "enabled", havingValue = "true")
+public class TaskBulkheadAspect {
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final Semaphore permits;
+    private final ThreadLocal<Boolean> holdingPermit = new ThreadLocal<>();
+    private final long maxWaitNanos;
+
+    public TaskBulkheadAspect(TaskBulkheadProperties properties) {
+        this.permits = new Semaphore(properties.getMaxConcurrentCalls(), true);
+        this.maxWaitNanos = properties.getMaxWait().toNanos();
+    }
+
+    @Around("execution(public * uk.gov.hmcts.reform.dev.services.Task*Service.*(..))")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (holdingPermit.get() != null) {
+            return joinPoint.proceed();
+        }
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException("Interrupted while waiting for capacity", RETRY_AFTER);
+        }
+        if (!acquired) {
+            throw new ServiceOverloadedException("Too many concurrent requests, try again shortly", RETRY_AFTER);
+        }
+        holdingPermit.set(Boolean.TRUE);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            holdingPermit.remove();
+            permits.release();
+        }
+    }
+
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,71 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.config.TaskConcurrencyLimitProperties;
+import uk.gov.hmcts.reform.dev.exception.ServiceOverloadedException;
+
+import java.time.Duration;
+
+/**
+ * Sheds {@link TaskService} calls with a 503 as soon as more are in flight than the
+ * {@link AdaptiveConcurrencyLimit} allows, instead of letting them queue at the bulkhead until
+ * they time out. Latency is measured around the bulkhead, so time spent waiting for a
+ * connection counts and a saturated pool shrinks the limit. Runs inside the task cache, so only
+ * calls that go to the database are limited and measured: cache hits would otherwise pull the
+ * averages down, and a fall in the hit rate, such as after a bulk change clears the cache, would
+ * look like the database slowing down.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@ConditionalOnProperty(prefix = "tasks.concurrency-limit", name = "enabled", havingValue = "true",
+    matchIfMissing = true)
+public class TaskConcurrencyLimitAspect {
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final Counter rejected;
+
+    public TaskConcurrencyLimitAspect(TaskConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this(new AdaptiveConcurrencyLimit(properties.getInitialLimit(), properties.getMinLimit(),
+                                          properties.getMaxLimit(), properties.getTolerance(),
+                                          properties.getSmoothing()), meterRegistry);
+    }
+
+    TaskConcurrencyLimitAspect(AdaptiveConcurrencyLimit concurrencyLimit, MeterRegistry meterRegistry) {
+        this.concurrencyLimit = concurrencyLimit;
+        this.rejected = Counter.builder("tasks.concurrency.rejected")
+            .description("Task service calls shed because the concurrency limit was reached")
+            .register(meterRegistry);
+        Gauge.builder("tasks.concurrency.limit", concurrencyLimit, AdaptiveConcurrencyLimit::limit)
+            .description("Task service calls currently allowed in flight")
+            .register(meterRegistry);
+        Gauge.builder("tasks.concurrency.in.flight", concurrencyLimit, AdaptiveConcurrencyLimit::inFlight)
+            .description("Task service calls in flight")
+            .register(meterRegistry);
+    }
+
+    @Around("execution(public * uk.gov.hmcts.reform.dev.services.TaskService.*(..))")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!concurrencyLimit.tryAcquire()) {
+            rejected.increment();
+            throw new ServiceOverloadedException("Service is overloaded, try again shortly", RETRY_AFTER);
+        }
+        long started = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            concurrencyLimit.release(System.nanoTime() - started);
+        }
+    }
+}
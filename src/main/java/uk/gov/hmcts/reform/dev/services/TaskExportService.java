@@ -0,0 +1,59 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.dev.dto.TaskResponseDto;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the task table as newline-delimited JSON, one task per line.
+ */
+@Service
+public class TaskExportService {
+
+    // Flush often enough that consumers see progress, rarely enough to keep syscalls cheap
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private final TaskRepository taskRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter taskWriter;
+
+    public TaskExportService(TaskRepository taskRepository, ObjectMapper objectMapper) {
+        this.taskRepository = taskRepository;
+        this.objectMapper = objectMapper;
+        this.taskWriter = objectMapper.writerFor(TaskResponseDto.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportTasks(OutputStream out) throws IOException {
+        long rows = 0;
+        try (Stream<TaskResponseDto> tasks = taskRepository.streamAllForExport();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are terminated explicitly below, Jackson's default root separator is a space
+            generator.setRootValueSeparator(null);
+            Iterator<TaskResponseDto> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                taskWriter.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                rows++;
+                // First row goes out immediately so the client gets its first byte quickly
+                if (rows == 1 || rows % FLUSH_EVERY_ROWS == 0) {
+                    generator.flush();
+                }
+            }
+            generator.flush();
+        }
+        return rows;
+    }
+}
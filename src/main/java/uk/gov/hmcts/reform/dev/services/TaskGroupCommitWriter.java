@@ -0,0 +1,261 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.config.TaskBatchProperties;
+import uk.gov.hmcts.reform.dev.config.TaskGroupCommitProperties;
+import uk.gov.hmcts.reform.dev.dto.TaskBatchItemResultDto;
+import uk.gov.hmcts.reform.dev.dto.TaskBatchResultDto;
+import uk.gov.hmcts.reform.dev.dto.TaskRequestDto;
+import uk.gov.hmcts.reform.dev.dto.TaskResponseDto;
+import uk.gov.hmcts.reform.dev.exception.InvalidRequestException;
+import uk.gov.hmcts.reform.dev.exception.ServiceOverloadedException;
+import uk.gov.hmcts.reform.dev.idempotency.IdempotencyFilter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Commits concurrent single creates together. Each request is queued and waits while one
+ * background thread gathers up to {@code max-batch-size} of them, or whatever arrives within
+ * {@code max-delay} of the first, and writes them through {@link TaskBatchService} in one
+ * transaction. A request only gets its task back once that transaction has committed, so the
+ * 201 still means the row is durable; the saving is one commit for the whole group instead of
+ * one each.
+ *
+ * <p>When the queue is full, or the writer is stopping, a request writes its own transaction as
+ * it would without group commit. If a group fails as a whole its creates are retried one at a
+ * time, so one bad row only fails its own request.
+ *
+ * <p>A request that times out while still queued is taken off the queue, so its 503 means the
+ * task was not created. One whose group is already being written waits for that group instead,
+ * and only if that also runs out of time gets a 503 saying the task may still be created.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "tasks.group-commit", name = "enabled", havingValue = "true")
+public class TaskGroupCommitWriter implements SmartLifecycle {
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final TaskBatchService taskBatchService;
+    private final TaskService taskService;
+    private final TaskGroupCommitProperties properties;
+    private final BlockingQueue<PendingCreate> queue;
+    private final DistributionSummary groupSize;
+    private final Timer commitTime;
+    private final Counter queueFull;
+    private final Counter groupFailed;
+    private volatile boolean running;
+    private Thread writer;
+
+    public TaskGroupCommitWriter(TaskBatchService taskBatchService, TaskService taskService,
+                                 TaskGroupCommitProperties properties, TaskBatchProperties batchProperties,
+                                 MeterRegistry meterRegistry) {
+        // Groups go through the batch path, which turns away anything over its own limit
+        if (properties.getMaxBatchSize() < 1 || properties.getMaxBatchSize() > batchProperties.getMaxItems()) {
+            throw new IllegalArgumentException("tasks.group-commit.max-batch-size must be between 1 and "
+                                                   + "tasks.batch.max-items (" + batchProperties.getMaxItems()
+                                                   + "), was " + properties.getMaxBatchSize());
+        }
+        this.taskBatchService = taskBatchService;
+        this.taskService = taskService;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        Gauge.builder("tasks.groupcommit.queue.depth", queue, BlockingQueue::size)
+            .description("Creates waiting for the group commit writer")
+            .register(meterRegistry);
+        this.groupSize = DistributionSummary.builder("tasks.groupcommit.group.size")
+            .description("Creates committed together in one transaction")
+            .register(meterRegistry);
+        this.commitTime = Timer.builder("tasks.groupcommit.commit")
+            .description("Time to write and commit one group")
+            .register(meterRegistry);
+        this.queueFull = fallbacks(meterRegistry, "queue_full");
+        this.groupFailed = fallbacks(meterRegistry, "group_failed");
+    }
+
+    /**
+     * Creates the task in the next group commit and returns it once the group has committed.
+     */
+    public TaskResponseDto create(TaskRequestDto request) {
+        PendingCreate pending = new PendingCreate(request, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            queueFull.increment();
+            return taskService.createTask(request);
+        }
+        try {
+            return await(pending);
+        } catch (TimeoutException e) {
+            if (queue.remove(pending)) {
+                throw new ServiceOverloadedException("Timed out waiting for the task to be written; it was not "
+                                                         + "created", RETRY_AFTER);
+            }
+        }
+        // The writer already has it in a group, which will commit or fail shortly
+        try {
+            return await(pending);
+        } catch (TimeoutException e) {
+            throw new ServiceOverloadedException("Timed out waiting for the task to be written; it may still be "
+                                                     + "created, so retry with an " + IdempotencyFilter.HEADER,
+                                                 RETRY_AFTER);
+        }
+    }
+
+    private TaskResponseDto await(PendingCreate pending) throws TimeoutException {
+        try {
+            return pending.result().get(properties.getAwaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException("Interrupted waiting for the task to be written", RETRY_AFTER);
+        }
+    }
+
+    private void writeGroups() {
+        List<PendingCreate> group = new ArrayList<>(properties.getMaxBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingCreate first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                fill(group);
+                commit(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(group);
+                return;
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void fill(List<PendingCreate> group) throws InterruptedException {
+        long deadline = System.nanoTime() + properties.getMaxDelay().toNanos();
+        while (group.size() < properties.getMaxBatchSize()) {
+            queue.drainTo(group, properties.getMaxBatchSize() - group.size());
+            long remaining = deadline - System.nanoTime();
+            if (group.size() == properties.getMaxBatchSize() || remaining <= 0) {
+                return;
+            }
+            PendingCreate next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            group.add(next);
+        }
+    }
+
+    private void commit(List<PendingCreate> group) {
+        groupSize.record(group.size());
+        TaskBatchResultDto result;
+        long started = System.nanoTime();
+        try {
+            result = taskBatchService.createTasks(group.stream().map(PendingCreate::request).toList());
+        } catch (ServiceOverloadedException e) {
+            group.forEach(pending -> pending.result().completeExceptionally(e));
+            return;
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} tasks failed, writing them one at a time: {}", group.size(),
+                     e.getMessage());
+            groupFailed.increment(group.size());
+            group.forEach(this::createAlone);
+            return;
+        } finally {
+            commitTime.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+        for (TaskBatchItemResultDto item : result.getResults()) {
+            PendingCreate pending = group.get(item.getIndex());
+            if (item.getTask() != null) {
+                pending.result().complete(item.getTask());
+            } else {
+                pending.result().completeExceptionally(
+                    new InvalidRequestException(String.join(", ", item.getErrors())));
+            }
+        }
+    }
+
+    private void createAlone(PendingCreate pending) {
+        try {
+            pending.result().complete(taskService.createTask(pending.request()));
+        } catch (RuntimeException e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+
+    private void fail(List<PendingCreate> group) {
+        ServiceOverloadedException stopped = new ServiceOverloadedException("Task writer is shutting down",
+                                                                           RETRY_AFTER);
+        group.forEach(pending -> pending.result().completeExceptionally(stopped));
+    }
+
+    @Override
+    public synchronized void start() {
+        if (writer != null) {
+            return;
+        }
+        running = true;
+        writer = Thread.ofPlatform().name("task-group-commit").daemon().start(this::writeGroups);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (writer == null) {
+            return;
+        }
+        // The writer finishes what is already queued before it exits
+        running = false;
+        try {
+            writer.join(properties.getAwaitTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<PendingCreate> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        fail(abandoned);
+        writer = null;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return writer != null;
+    }
+
+    @Override
+    public int getPhase() {
+        // Stop only after graceful shutdown has let in-flight requests finish
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private static Counter fallbacks(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("tasks.groupcommit.fallbacks")
+            .description("Creates written in their own transaction instead of a group")
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+
+    private record PendingCreate(TaskRequestDto request, CompletableFuture<TaskResponseDto> result) {
+    }
+}
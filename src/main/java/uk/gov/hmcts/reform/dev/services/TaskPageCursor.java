@@ -0,0 +1,70 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import uk.gov.hmcts.reform.dev.exception.InvalidRequestException;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a page. Clients only ever see the encoded form, which
+ * is treated as opaque so the layout can change without breaking them.
+ */
+public final class TaskPageCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final TaskSort sort;
+    private final long id;
+    private final LocalDateTime dueDate;
+
+    private TaskPageCursor(TaskSort sort, long id, LocalDateTime dueDate) {
+        this.sort = sort;
+        this.id = id;
+        this.dueDate = dueDate;
+    }
+
+    public static TaskPageCursor after(TaskSort sort, Task last) {
+        return new TaskPageCursor(sort, last.getId(), sort == TaskSort.DUE_DATE ? last.getDueDate() : null);
+    }
+
+    public TaskSort getSort() {
+        return sort;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    public String encode() {
+        String raw = sort == TaskSort.DUE_DATE
+            ? sort.getParameter() + SEPARATOR + dueDate + SEPARATOR + id
+            : sort.getParameter() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskPageCursor decode(String token, TaskSort expectedSort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+            if (!expectedSort.getParameter().equals(parts[0])) {
+                throw new InvalidRequestException("Cursor does not match the requested sort");
+            }
+            if (expectedSort == TaskSort.DUE_DATE && parts.length == 3) {
+                return new TaskPageCursor(expectedSort, Long.parseLong(parts[2]), LocalDateTime.parse(parts[1]));
+            }
+            if (expectedSort == TaskSort.ID && parts.length == 2) {
+                return new TaskPageCursor(expectedSort, Long.parseLong(parts[1]), null);
+            }
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            // fall through to the generic error below, the token is not ours
+        }
+        throw new InvalidRequestException("Invalid cursor");
+    }
+}
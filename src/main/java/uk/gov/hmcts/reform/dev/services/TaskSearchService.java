@@ -0,0 +1,95 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.dev.config.TaskPaginationProperties;
+import uk.gov.hmcts.reform.dev.config.TaskSearchProperties;
+import uk.gov.hmcts.reform.dev.dto.TaskSearchHitDto;
+import uk.gov.hmcts.reform.dev.dto.TaskSearchPageDto;
+import uk.gov.hmcts.reform.dev.exception.InvalidRequestException;
+import uk.gov.hmcts.reform.dev.exception.ServiceOverloadedException;
+import uk.gov.hmcts.reform.dev.mappers.TaskMapper;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+import uk.gov.hmcts.reform.dev.search.TaskSearchIndex;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static uk.gov.hmcts.reform.dev.services.TaskService.OPERATION_TIMER;
+
+/**
+ * Ranks tasks with the in-memory search index, then loads just the requested page of
+ * them from the database in a single query.
+ */
+@Service
+public class TaskSearchService {
+
+    private static final int MAX_QUERY_LENGTH = 200;
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(5);
+
+    private final TaskSearchIndex searchIndex;
+    private final TaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+    private final TaskPaginationProperties paginationProperties;
+    private final int maxResults;
+
+    public TaskSearchService(TaskSearchIndex searchIndex, TaskRepository taskRepository, TaskMapper taskMapper,
+                             TaskPaginationProperties paginationProperties, TaskSearchProperties searchProperties) {
+        this.searchIndex = searchIndex;
+        this.taskRepository = taskRepository;
+        this.taskMapper = taskMapper;
+        this.paginationProperties = paginationProperties;
+        this.maxResults = searchProperties.getMaxResults();
+    }
+
+    @Timed(value = OPERATION_TIMER, extraTags = {"operation", "search"})
+    @Transactional(readOnly = true)
+    public TaskSearchPageDto search(String query, Integer page, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Search query must not be blank");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new InvalidRequestException("Search query must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (!searchIndex.isReady()) {
+            throw new ServiceOverloadedException("Search index is still loading", RETRY_AFTER);
+        }
+        int pageNumber = page == null ? 0 : Math.max(0, page);
+        int pageSize = size == null
+            ? paginationProperties.getDefaultPageSize()
+            : Math.max(1, Math.min(size, paginationProperties.getMaxPageSize()));
+        // Ranking a page means ranking everything before it, so how deep a client can go is capped
+        long offset = (long) pageNumber * pageSize;
+        if (offset >= maxResults) {
+            throw new InvalidRequestException("Only the first " + maxResults + " matches can be paged through; "
+                                                  + "narrow the search instead");
+        }
+
+        TaskSearchIndex.SearchResult result = searchIndex.search(query, (int) offset,
+                                                                 (int) Math.min(pageSize, maxResults - offset));
+        List<Long> ids = result.hits().stream().map(TaskSearchIndex.Hit::taskId).toList();
+        Map<Long, Task> tasks = taskRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        // Keep the index's ranking; a task deleted since it was indexed is simply skipped
+        List<TaskSearchHitDto> items = new ArrayList<>(ids.size());
+        for (TaskSearchIndex.Hit hit : result.hits()) {
+            Task task = tasks.get(hit.taskId());
+            if (task != null) {
+                items.add(new TaskSearchHitDto(taskMapper.toResponse(task), hit.score()));
+            }
+        }
+        return TaskSearchPageDto.builder()
+            .items(items)
+            .page(pageNumber)
+            .size(pageSize)
+            .total(result.total())
+            .build();
+    }
+}
@@ -1,66 +1,161 @@
 package uk.gov.hmcts.reform.dev.services;
 
-import org.modelmapper.ModelMapper;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.dev.config.TaskPaginationProperties;
+import uk.gov.hmcts.reform.dev.dto.TaskFilterDto;
+import uk.gov.hmcts.reform.dev.dto.TaskPageDto;
 import uk.gov.hmcts.reform.dev.dto.TaskRequestDto;
 import uk.gov.hmcts.reform.dev.dto.TaskResponseDto;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.exception.PreconditionFailedException;
 import uk.gov.hmcts.reform.dev.exception.ResourceNotFoundException;
+import uk.gov.hmcts.reform.dev.mappers.TaskMapper;
 import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
 import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+import uk.gov.hmcts.reform.dev.repositories.TaskSpecifications;
 
 import java.util.List;
-import java.util.stream.Collectors;
+
+import static uk.gov.hmcts.reform.dev.config.TaskCacheConfig.TASKS_CACHE;
 
 @Service
 public class TaskService {
 
+    public static final String OPERATION_TIMER = "tasks.operation";
+
+    private static final String NOT_PINNED_TO_PRIMARY =
+        "!T(uk.gov.hmcts.reform.dev.datasource.ReadYourWrites).isPinnedToPrimary()";
+
     private final TaskRepository taskRepository;
-    private final ModelMapper modelMapper;
+    private final TaskMapper taskMapper;
+    private final TaskPaginationProperties paginationProperties;
+    private final DistributionSummary listSize;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public TaskService(TaskRepository taskRepository) {
+    public TaskService(TaskRepository taskRepository, TaskMapper taskMapper,
+                       TaskPaginationProperties paginationProperties, MeterRegistry meterRegistry,
+                       ApplicationEventPublisher eventPublisher) {
         this.taskRepository = taskRepository;
-        this.modelMapper = new ModelMapper();
+        this.taskMapper = taskMapper;
+        this.paginationProperties = paginationProperties;
+        this.eventPublisher = eventPublisher;
+        this.listSize = DistributionSummary.builder("tasks.list.size")
+            .description("Tasks returned per list page")
+            .baseUnit("tasks")
+            .register(meterRegistry);
     }
 
+    @Timed(value = OPERATION_TIMER, extraTags = {"operation", "create"})
+    @Transactional
     public TaskResponseDto createTask(TaskRequestDto taskRequestDto) {
-        Task task = modelMapper.map(taskRequestDto, Task.class);
-        return modelMapper.map(taskRepository.save(task), TaskResponseDto.class);
+        Task task = taskMapper.toEntity(taskRequestDto);
+        TaskResponseDto created = taskMapper.toResponse(taskRepository.save(task));
+        eventPublisher.publishEvent(TaskChangedEvent.created(created));
+        return created;
     }
 
-    public List<TaskResponseDto> getAllTasks() {
-        return taskRepository.findAll().stream()
-                .map(task -> modelMapper.map(task, TaskResponseDto.class))
-                .collect(Collectors.toList());
+    @Timed(value = OPERATION_TIMER, extraTags = {"operation", "list"})
+    @Coalesced("list")
+    @Transactional(readOnly = true)
+    public TaskPageDto getTasks(TaskFilterDto filter, String sortParameter, String cursor, Integer size) {
+        TaskSort sort = TaskSort.fromParameter(sortParameter);
+        TaskPageCursor after = cursor == null || cursor.isBlank() ? null : TaskPageCursor.decode(cursor, sort);
+        int pageSize = resolvePageSize(size);
+
+        // One extra row tells us whether there is a next page without a count query
+        List<Task> rows = taskRepository.findBy(
+            TaskSpecifications.forPage(filter, sort, after),
+            query -> query.sortBy(sort.toSort()).limit(pageSize + 1).all()
+        );
+        boolean hasMore = rows.size() > pageSize;
+        List<Task> page = hasMore ? rows.subList(0, pageSize) : rows;
+        listSize.record(page.size());
+
+        return TaskPageDto.builder()
+            .items(taskMapper.toResponses(page))
+            .nextCursor(hasMore ? TaskPageCursor.after(sort, page.get(page.size() - 1)).encode() : null)
+            .build();
     }
 
+    // sync = true lets a single caller load a missing entry while concurrent readers wait for it. With read
+    // replicas, misses are loaded from the primary (PrimaryLoadingCacheManager) so a lagging replica's copy is
+    // never cached; clients pinned to the primary after a write still bypass the cache, so they cannot read
+    // an entry a concurrent load put back after their write evicted it
+    @Timed(value = OPERATION_TIMER, extraTags = {"operation", "get"})
+    @Coalesced("get")
+    @Cacheable(cacheNames = TASKS_CACHE, key = "#id", sync = true, condition = NOT_PINNED_TO_PRIMARY)
+    @Transactional(readOnly = true)
     public TaskResponseDto getTaskById(Long id) {
         Task task = taskRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Task not found"));
-        return modelMapper.map( task, TaskResponseDto.class);
+        return taskMapper.toResponse(task);
     }
 
-    public TaskResponseDto updateTask(Long id, TaskRequestDto taskRequestDto) {
+    @Timed(value = OPERATION_TIMER, extraTags = {"operation", "update"})
+    @CacheEvict(cacheNames = TASKS_CACHE, key = "#id")
+    @Transactional
+    public TaskResponseDto updateTask(Long id, TaskRequestDto taskRequestDto, Long expectedVersion) {
         Task task = taskRepository.findById(id).orElseThrow(
             () -> new ResourceNotFoundException("Task not found")
         );
-        modelMapper.map(taskRequestDto, task);
-        return modelMapper.map(taskRepository.save(task), TaskResponseDto.class);
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new PreconditionFailedException("Task has changed since it was read");
+        }
+        if (taskRequestDto.getVersion() != null && !taskRequestDto.getVersion().equals(task.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Task.class, id);
+        }
+        taskMapper.updateEntity(taskRequestDto, task);
+        // Flush now so a concurrent writer is detected here and the response carries the new version
+        TaskResponseDto updated = taskMapper.toResponse(taskRepository.saveAndFlush(task));
+        eventPublisher.publishEvent(TaskChangedEvent.updated(updated));
+        return updated;
     }
 
-    public TaskResponseDto updateTaskStatus(Long id, String status) {
-        Task task = taskRepository.findById(id).orElseThrow(
+    @Timed(value = OPERATION_TIMER, extraTags = {"operation", "status"})
+    @CacheEvict(cacheNames = TASKS_CACHE, key = "#id")
+    @Transactional
+    public TaskResponseDto updateTaskStatus(Long id, TaskStatus status, Long expectedVersion) {
+        int updated = expectedVersion == null
+            ? taskRepository.updateStatus(id, status)
+            : taskRepository.updateStatusIfVersion(id, status, expectedVersion);
+        if (updated == 0) {
+            if (expectedVersion != null && taskRepository.existsById(id)) {
+                throw new PreconditionFailedException("Task has changed since it was read");
+            }
+            throw new ResourceNotFoundException("Task not found");
+        }
+        TaskResponseDto updated = taskMapper.toResponse(taskRepository.findById(id).orElseThrow(
             () -> new ResourceNotFoundException("Task not found")
-        );
-        task.setStatus(status);
-        return modelMapper.map(taskRepository.save(task), TaskResponseDto.class);
+        ));
+        eventPublisher.publishEvent(TaskChangedEvent.statusChanged(updated));
+        return updated;
     }
 
+    @Timed(value = OPERATION_TIMER, extraTags = {"operation", "delete"})
+    @CacheEvict(cacheNames = TASKS_CACHE, key = "#id")
+    @Transactional
     public void deleteTask(Long id) {
-        Task task = taskRepository.findById(id).orElseThrow(
-            () -> new ResourceNotFoundException("Task not found")
-        );
-        taskRepository.delete(task);
+        if (taskRepository.deleteTaskById(id) == 0) {
+            throw new ResourceNotFoundException("Task not found");
+        }
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(id));
+    }
+
+    private int resolvePageSize(Integer requested) {
+        if (requested == null) {
+            return paginationProperties.getDefaultPageSize();
+        }
+        return Math.max(1, Math.min(requested, paginationProperties.getMaxPageSize()));
     }
 
 }
@@ -0,0 +1,107 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import uk.gov.hmcts.reform.dev.config.TaskCoalescingProperties;
+import uk.gov.hmcts.reform.dev.datasource.ReadYourWrites;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Single-flight for {@link Coalesced} reads: while a call is running, identical calls wait for
+ * it and get the same result, or the same exception, instead of running their own query. Runs
+ * outside the concurrency limit and the bulkhead, so waiting callers hold neither a slot nor a
+ * connection.
+ *
+ * <p>Every committed task change forgets the calls in flight. A read that starts after a write
+ * has returned therefore never joins a query that began before it, and always sees the write.
+ * Calls pinned to the primary only share with each other, never with a read from a replica.
+ *
+ * <p>A caller waits at most {@code tasks.coalescing.max-wait} for the running call, then runs
+ * its own, so one stuck query cannot hold up every caller with the same arguments.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "tasks.coalescing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TaskSingleFlightAspect {
+
+    private final Map<FlightKey, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+    private final Map<List<String>, Counter> calls = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final long maxWaitNanos;
+
+    public TaskSingleFlightAspect(MeterRegistry meterRegistry, TaskCoalescingProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.maxWaitNanos = properties.getMaxWait().toNanos();
+    }
+
+    @Around("@annotation(coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint, Coalesced coalesced) throws Throwable {
+        FlightKey key = new FlightKey(joinPoint.getSignature().toLongString(), Arrays.asList(joinPoint.getArgs()),
+                                      ReadYourWrites.isPinnedToPrimary());
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = flights.putIfAbsent(key, mine);
+        if (running != null) {
+            calls(coalesced.value(), "coalesced").increment();
+            try {
+                return running.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            } catch (TimeoutException e) {
+                // The running call is left to finish on its own; this one neither waits longer nor replaces it
+                calls(coalesced.value(), "timed_out").increment();
+                return joinPoint.proceed();
+            }
+        }
+        calls(coalesced.value(), "executed").increment();
+        try {
+            Object result = joinPoint.proceed();
+            mine.complete(result);
+            return result;
+        } catch (Throwable e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, mine);
+        }
+    }
+
+    // Runs on the writer's thread before its response is sent
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        flights.clear();
+    }
+
+    int inFlight() {
+        return flights.size();
+    }
+
+    private Counter calls(String operation, String result) {
+        return calls.computeIfAbsent(List.of(operation, result), tags -> Counter.builder("tasks.coalescing.calls")
+            .description("Coalesced reads, by whether they ran the query, shared another call's result or "
+                         + "gave up waiting for it")
+            .tag("operation", operation)
+            .tag("result", result)
+            .register(meterRegistry));
+    }
+
+    private record FlightKey(String method, List<Object> arguments, boolean pinnedToPrimary) {
+    }
+}
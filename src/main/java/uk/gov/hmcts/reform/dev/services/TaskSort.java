@@ -0,0 +1,41 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import org.springframework.data.domain.Sort;
+import uk.gov.hmcts.reform.dev.exception.InvalidRequestException;
+
+/**
+ * Orderings supported by keyset pagination. Each one ends with {@code id} so that
+ * the order is total and a cursor always identifies a single position.
+ */
+public enum TaskSort {
+    ID("id", Sort.by("id")),
+    DUE_DATE("dueDate", Sort.by("dueDate").and(Sort.by("id")));
+
+    private final String parameter;
+    private final Sort sort;
+
+    TaskSort(String parameter, Sort sort) {
+        this.parameter = parameter;
+        this.sort = sort;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    public Sort toSort() {
+        return sort;
+    }
+
+    public static TaskSort fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return ID;
+        }
+        for (TaskSort candidate : values()) {
+            if (candidate.parameter.equalsIgnoreCase(value.trim())) {
+                return candidate;
+            }
+        }
+        throw new InvalidRequestException("Unsupported sort: " + value);
+    }
+}
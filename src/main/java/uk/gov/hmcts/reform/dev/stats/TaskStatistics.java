@@ -0,0 +1,277 @@
+package uk.gov.hmcts.reform.dev.stats;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.config.TaskStatsProperties;
+import uk.gov.hmcts.reform.dev.datasource.ReadYourWrites;
+import uk.gov.hmcts.reform.dev.dto.TaskResponseDto;
+import uk.gov.hmcts.reform.dev.dto.TaskStatsDto;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.exception.ServiceOverloadedException;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+import uk.gov.hmcts.reform.dev.repositories.TaskStateRow;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Task counts by status, plus how many open tasks are overdue or due today, kept in memory so
+ * the stats endpoint never scans the table.
+ *
+ * <p>The counters follow committed {@link TaskChangedEvent}s. Events only carry the new state of
+ * a task, so the status, due date and version of every task are kept as well: that is what an
+ * update or delete is subtracted from, and the version stops a late event undoing a newer one.
+ * Open due dates are kept sorted, and the overdue and due-today figures are cached and only
+ * topped up with the due dates that have passed since the previous read.
+ *
+ * <p>Every {@code reconcile-interval} the whole lot is rebuilt from the database, which corrects
+ * any drift such as writes committed by another instance. Changes that arrive during a rebuild
+ * are applied to both the old and the new counters, so nothing is lost in the swap.
+ */
+@Slf4j
+@Component
+public class TaskStatistics {
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(5);
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration reconcileInterval;
+    private final Clock clock;
+    private final Counter drift;
+    private Counters counters = new Counters();
+    private List<TaskChangedEvent> pending = new ArrayList<>();
+    private LocalDateTime reconciledAt;
+    private volatile boolean ready;
+    private ScheduledExecutorService reconciler;
+
+    @Autowired
+    public TaskStatistics(TaskRepository taskRepository, PlatformTransactionManager transactionManager,
+                          TaskStatsProperties properties, MeterRegistry meterRegistry) {
+        this(taskRepository, transactionManager, properties, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    TaskStatistics(TaskRepository taskRepository, PlatformTransactionManager transactionManager,
+                   TaskStatsProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.taskRepository = taskRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.reconcileInterval = properties.getReconcileInterval();
+        this.clock = clock;
+        this.drift = Counter.builder("tasks.stats.drift")
+            .description("Tasks whose counted status differed from the database at reconciliation")
+            .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reconciler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("task-stats-reconcile").daemon().factory()
+        );
+        reconciler.scheduleWithFixedDelay(this::reconcile, 0, reconcileInterval.toMillis(),
+                                          TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+        }
+    }
+
+    // After commit only, so a rolled back write is never counted
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTaskChanged(TaskChangedEvent event) {
+        counters.apply(event);
+        if (pending != null) {
+            pending.add(event);
+        }
+    }
+
+    public synchronized TaskStatsDto snapshot() {
+        if (!ready) {
+            throw new ServiceOverloadedException("Task statistics are still loading", RETRY_AFTER);
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        return TaskStatsDto.builder()
+            .total(counters.states.size())
+            .byStatus(new EnumMap<>(counters.byStatus))
+            .overdue(counters.overdue(now))
+            .dueToday(counters.dueToday(now.toLocalDate()))
+            .asOf(now)
+            .reconciledAt(reconciledAt)
+            .build();
+    }
+
+    // Read from the primary: a lagging replica would undo changes already counted from events
+    void reconcile() {
+        long started = System.nanoTime();
+        try {
+            ReadYourWrites.runOnPrimary(() -> readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<TaskStateRow> rows = taskRepository.streamAllStates()) {
+                    rebuild(rows);
+                }
+            }));
+            log.debug("Task statistics reconciled in {}ms", (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Task statistics reconciliation failed; keeping the current counters", e);
+            synchronized (this) {
+                pending = null;
+            }
+        }
+    }
+
+    void rebuild(Stream<TaskStateRow> rows) {
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+        Counters rebuilt = new Counters();
+        rows.forEach(row -> rebuilt.put(row.id(), new TaskState(row.status(), row.dueDate(), version(row.version()))));
+        synchronized (this) {
+            pending.forEach(rebuilt::apply);
+            pending = null;
+            if (ready) {
+                long difference = counters.differenceFrom(rebuilt);
+                if (difference > 0) {
+                    log.info("Task statistics corrected by {} after reconciling with the database", difference);
+                    drift.increment(difference);
+                }
+            }
+            counters = rebuilt;
+            reconciledAt = LocalDateTime.now(clock);
+            ready = true;
+        }
+    }
+
+    private static long version(Long version) {
+        return version == null ? 0 : version;
+    }
+
+    private record TaskState(TaskStatus status, LocalDateTime dueDate, long version) {
+
+        boolean isOpenWithDueDate() {
+            return dueDate != null && !status.isTerminal();
+        }
+    }
+
+    private static final class Counters {
+        private final Map<Long, TaskState> states = new HashMap<>();
+        private final Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        // Due date -> number of open tasks due then
+        private final NavigableMap<LocalDateTime, Integer> openDueDates = new TreeMap<>();
+        private LocalDateTime overdueBefore;
+        private long overdue;
+        private LocalDate today;
+        private long dueToday;
+
+        private Counters() {
+            for (TaskStatus status : TaskStatus.values()) {
+                byStatus.put(status, 0L);
+            }
+        }
+
+        private void apply(TaskChangedEvent event) {
+            if (event.getType() == TaskChangedEvent.Type.DELETED) {
+                TaskState removed = states.remove(event.getTaskId());
+                if (removed != null) {
+                    count(removed, -1);
+                }
+                return;
+            }
+            TaskResponseDto task = event.getTask();
+            if (task == null) {
+                return;
+            }
+            TaskState existing = states.get(task.getId());
+            if (existing != null && task.getVersion() != null && existing.version() > task.getVersion()) {
+                return;
+            }
+            put(task.getId(), new TaskState(task.getStatus(), task.getDueDate(), version(task.getVersion())));
+        }
+
+        private void put(Long taskId, TaskState state) {
+            TaskState previous = states.put(taskId, state);
+            if (previous != null) {
+                count(previous, -1);
+            }
+            count(state, 1);
+        }
+
+        private void count(TaskState state, int delta) {
+            byStatus.merge(state.status(), (long) delta, Long::sum);
+            if (!state.isOpenWithDueDate()) {
+                return;
+            }
+            LocalDateTime dueDate = state.dueDate();
+            openDueDates.merge(dueDate, delta, (a, b) -> a + b == 0 ? null : a + b);
+            if (overdueBefore != null && dueDate.isBefore(overdueBefore)) {
+                overdue += delta;
+            }
+            if (dueDate.toLocalDate().equals(today)) {
+                dueToday += delta;
+            }
+        }
+
+        // Only the due dates passed since the last call are added, so a read is cheap however many tasks are overdue
+        private long overdue(LocalDateTime now) {
+            if (overdueBefore == null || now.isBefore(overdueBefore)) {
+                overdue = sum(openDueDates.headMap(now, false));
+            } else {
+                overdue += sum(openDueDates.subMap(overdueBefore, true, now, false));
+            }
+            overdueBefore = now;
+            return overdue;
+        }
+
+        private long dueToday(LocalDate date) {
+            if (!date.equals(today)) {
+                dueToday = sum(openDueDates.subMap(date.atStartOfDay(), true, date.plusDays(1).atStartOfDay(), false));
+                today = date;
+            }
+            return dueToday;
+        }
+
+        private long differenceFrom(Counters other) {
+            long difference = 0;
+            for (TaskStatus status : TaskStatus.values()) {
+                difference += Math.abs(byStatus.get(status) - other.byStatus.get(status));
+            }
+            return difference;
+        }
+
+        private static long sum(Map<LocalDateTime, Integer> dueDates) {
+            long total = 0;
+            for (int count : dueDates.values()) {
+                total += count;
+            }
+            return total;
+        }
+    }
+}
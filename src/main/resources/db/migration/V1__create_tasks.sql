@@ -0,0 +1,37 @@
+-- Baseline for the tasks table. Written to run both on a fresh database and on one
+-- whose table was created earlier by Hibernate's ddl-auto, and to stay portable
+-- between PostgreSQL and the H2 database used by tests and benchmarks.
+
+CREATE SEQUENCE IF NOT EXISTS tasks_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id           BIGINT       NOT NULL PRIMARY KEY,
+    title        VARCHAR(255),
+    description  VARCHAR(500),
+    status       VARCHAR(20),
+    created_date TIMESTAMP(6) NOT NULL,
+    due_date     TIMESTAMP(6),
+    version      BIGINT
+);
+
+-- TaskRequestDto allows 500 characters; ddl-auto created the column with Hibernate's default 255
+ALTER TABLE tasks ALTER COLUMN description SET DATA TYPE VARCHAR(500);
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version BIGINT;
+UPDATE tasks SET version = 0 WHERE version IS NULL;
+ALTER TABLE tasks ALTER COLUMN version SET DEFAULT 0;
+ALTER TABLE tasks ALTER COLUMN version SET NOT NULL;
+
+-- Status used to be free text; fold existing values onto the TaskStatus names
+UPDATE tasks SET status = UPPER(REPLACE(REPLACE(TRIM(status), ' ', '_'), '-', '_')) WHERE status IS NOT NULL;
+UPDATE tasks SET status = 'OPEN'
+    WHERE status IS NULL OR status NOT IN ('PENDING', 'OPEN', 'IN_PROGRESS', 'COMPLETED', 'CANCELLED');
+ALTER TABLE tasks ALTER COLUMN status SET DATA TYPE VARCHAR(20);
+ALTER TABLE tasks ALTER COLUMN status SET NOT NULL;
+ALTER TABLE tasks ADD CONSTRAINT ck_tasks_status
+    CHECK (status IN ('PENDING', 'OPEN', 'IN_PROGRESS', 'COMPLETED', 'CANCELLED'));
+
+-- List filtered by status, ordered or ranged by due date, keyset on id
+CREATE INDEX IF NOT EXISTS ix_tasks_status_due_date ON tasks (status, due_date, id);
+-- List ranged or ordered by due date without a status filter
+CREATE INDEX IF NOT EXISTS ix_tasks_due_date ON tasks (due_date, id);
@@ -0,0 +1,13 @@
+-- Transactional outbox: one row per task change, written in the same transaction as the
+-- change and deleted by TaskOutboxRelay once the sink has accepted it.
+
+CREATE SEQUENCE IF NOT EXISTS task_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS task_outbox (
+    id           BIGINT        NOT NULL PRIMARY KEY,
+    event_type   VARCHAR(20)   NOT NULL,
+    task_id      BIGINT        NOT NULL,
+    task_version BIGINT,
+    payload      VARCHAR(4000) NOT NULL,
+    created_date TIMESTAMP(6)  NOT NULL
+);
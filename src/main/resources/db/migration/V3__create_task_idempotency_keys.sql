@@ -0,0 +1,14 @@
+-- Responses recorded against Idempotency-Key headers when tasks.idempotency.store=database.
+-- status_code is NULL while the first request with the key is still running.
+
+CREATE TABLE IF NOT EXISTS task_idempotency_keys (
+    idempotency_key  VARCHAR(255)     NOT NULL PRIMARY KEY,
+    request_hash     VARCHAR(64)      NOT NULL,
+    status_code      INTEGER,
+    response_headers VARCHAR(4000),
+    response_body    VARCHAR(1000000),
+    created_date     TIMESTAMP(6)     NOT NULL,
+    expires_at       TIMESTAMP(6)     NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS ix_task_idempotency_keys_expires_at ON task_idempotency_keys (expires_at);
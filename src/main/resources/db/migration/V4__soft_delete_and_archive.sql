@@ -0,0 +1,28 @@
+-- Deleted tasks are kept with deleted_date set, and TaskArchiver later moves them, along with
+-- tasks that have been completed or cancelled for long enough, to tasks_archive in small chunks.
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS last_modified_date TIMESTAMP(6);
+UPDATE tasks SET last_modified_date = created_date WHERE last_modified_date IS NULL;
+ALTER TABLE tasks ALTER COLUMN last_modified_date SET DEFAULT LOCALTIMESTAMP;
+ALTER TABLE tasks ALTER COLUMN last_modified_date SET NOT NULL;
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS deleted_date TIMESTAMP(6);
+
+-- Archival scans: terminal tasks by age, and deleted tasks by when they were deleted
+CREATE INDEX IF NOT EXISTS ix_tasks_status_last_modified_date ON tasks (status, last_modified_date);
+CREATE INDEX IF NOT EXISTS ix_tasks_deleted_date ON tasks (deleted_date);
+
+CREATE TABLE IF NOT EXISTS tasks_archive (
+    id                 BIGINT       NOT NULL PRIMARY KEY,
+    title              VARCHAR(255),
+    description        VARCHAR(500),
+    status             VARCHAR(20)  NOT NULL,
+    created_date       TIMESTAMP(6) NOT NULL,
+    due_date           TIMESTAMP(6),
+    version            BIGINT       NOT NULL,
+    last_modified_date TIMESTAMP(6) NOT NULL,
+    deleted_date       TIMESTAMP(6),
+    archived_date      TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS ix_tasks_archive_archived_date ON tasks_archive (archived_date);
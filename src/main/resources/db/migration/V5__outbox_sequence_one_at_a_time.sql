@@ -0,0 +1,6 @@
+-- Outbox ids are handed out one at a time so that, for any one task, a later change always gets
+-- a higher id. With blocks of 50, two instances drew ids from different blocks and could give a
+-- task's second change a lower id than its first. The sequence already stands at or above every
+-- id handed out from a block, so carrying on from it in steps of one never reuses an id.
+
+ALTER SEQUENCE task_outbox_seq INCREMENT BY 1;
@@ -0,0 +1,86 @@
+package uk.gov.hmcts.reform.dev;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * Drives the paths that need reflection, proxies or resources in a native image against an
+ * already running instance: request validation, Jackson both ways, JPA through datasource-proxy,
+ * Flyway's migrations and error bodies. Run with {@code ./gradlew nativeSmoke -Pnative}.
+ */
+@Tag("native")
+class NativeImageSmokeTest {
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.baseURI = System.getenv().getOrDefault("TEST_URL", "http://localhost:8080");
+    }
+
+    @Test
+    void taskLifecycle() {
+        Response created = given()
+            .contentType(ContentType.JSON)
+            .body(Map.of("title", "Native smoke test", "status", "in progress",
+                         "dueDate", LocalDateTime.now().plusDays(1).withNano(0).toString()))
+            .post("/api/tasks")
+            .then()
+            .statusCode(201)
+            .body("id", notNullValue())
+            .body("status", equalTo("IN_PROGRESS"))
+            .extract().response();
+        long id = created.jsonPath().getLong("id");
+
+        given().get("/api/tasks/{id}", id)
+            .then()
+            .statusCode(200)
+            .header("ETag", notNullValue())
+            .body("title", equalTo("Native smoke test"));
+
+        given().contentType(ContentType.JSON)
+            .body(Map.of("status", "completed"))
+            .patch("/api/tasks/{id}/status", id)
+            .then()
+            .statusCode(200)
+            .body("status", equalTo("COMPLETED"));
+
+        given().queryParam("fields", "id,status")
+            .queryParam("status", "COMPLETED")
+            .get("/api/tasks")
+            .then()
+            .statusCode(200)
+            .body("items.id", hasItem((int) id));
+
+        given().delete("/api/tasks/{id}", id).then().statusCode(204);
+        given().get("/api/tasks/{id}", id).then().statusCode(404);
+        given().post("/api/tasks/{id}/restore", id).then().statusCode(200).body("id", equalTo((int) id));
+    }
+
+    @Test
+    void invalidTask_IsRejectedWithItsConstraintMessages() {
+        given()
+            .contentType(ContentType.JSON)
+            .body(Map.of("title", "x"))
+            .post("/api/tasks")
+            .then()
+            .statusCode(400)
+            .body("messages", hasItem(containsString("between 3 and 100 characters")));
+    }
+
+    @Test
+    void health_IsUp() {
+        given().get("/health").then().statusCode(200).body("status", equalTo("UP"));
+    }
+}
@@ -0,0 +1,132 @@
+package uk.gov.hmcts.reform.dev.archive;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.dev.config.TaskArchiveProperties;
+import uk.gov.hmcts.reform.dev.dto.TaskResponseDto;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.exception.ResourceNotFoundException;
+import uk.gov.hmcts.reform.dev.mappers.TaskMapperImpl;
+import uk.gov.hmcts.reform.dev.models.ArchivedTask;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+import uk.gov.hmcts.reform.dev.repositories.TaskArchiveRepository;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+import uk.gov.hmcts.reform.dev.services.TaskArchiveService;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {"tasks.archive.chunk-size=2", "tasks.archive.chunk-pause=0s", "tasks.archive.interval=1h",
+    "tasks.archive.archive-after=30d", "tasks.archive.purge-deleted-after=7d"})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RecordApplicationEvents
+@Import({TaskArchiver.class, TaskArchiveService.class, TaskMapperImpl.class, TaskArchiverTest.Config.class})
+class TaskArchiverTest {
+
+    @EnableConfigurationProperties(TaskArchiveProperties.class)
+    static class Config {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private TaskArchiver archiver;
+
+    @Autowired
+    private TaskArchiveService archiveService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskArchiveRepository archiveRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllInBatch();
+        archiveRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void archivePending_MovesOnlyTasksThatAreDue() {
+        LocalDateTime now = LocalDateTime.now();
+        Task oldCompleted = save(TaskStatus.COMPLETED, now.minusDays(60), null);
+        Task oldCancelled = save(TaskStatus.CANCELLED, now.minusDays(40), null);
+        Task oldCompletedToo = save(TaskStatus.COMPLETED, now.minusDays(31), null);
+        Task recentCompleted = save(TaskStatus.COMPLETED, now.minusDays(1), null);
+        Task oldOpen = save(TaskStatus.OPEN, now.minusDays(60), null);
+        Task oldDeleted = save(TaskStatus.OPEN, now.minusDays(20), now.minusDays(10));
+        Task recentDeleted = save(TaskStatus.OPEN, now.minusDays(20), now.minusDays(1));
+
+        int moved = archiver.archivePending();
+
+        assertThat(moved).isEqualTo(4);
+        assertThat(archiveRepository.findAll()).extracting(ArchivedTask::getId).containsExactlyInAnyOrder(
+            oldCompleted.getId(), oldCancelled.getId(), oldCompletedToo.getId(), oldDeleted.getId());
+        assertThat(taskRepository.findAll()).extracting(Task::getId).containsExactlyInAnyOrder(
+            recentCompleted.getId(), oldOpen.getId());
+        assertThat(archiveRepository.findById(oldDeleted.getId())).hasValueSatisfying(
+            archived -> assertThat(archived.getDeletedDate()).isNotNull());
+        // Only live tasks are reported as leaving; the deleted one was reported when it was deleted
+        assertThat(events.stream(TaskChangedEvent.class).map(TaskChangedEvent::getTaskId)).containsExactlyInAnyOrder(
+            oldCompleted.getId(), oldCancelled.getId(), oldCompletedToo.getId());
+        assertThat(meterRegistry.counter("tasks.archive.moved", "reason", "finished").count()).isEqualTo(3);
+        assertThat(meterRegistry.counter("tasks.archive.moved", "reason", "deleted").count()).isEqualTo(1);
+        assertThat(archiveService.restoreTask(recentDeleted.getId()).getId()).isEqualTo(recentDeleted.getId());
+    }
+
+    @Test
+    void restoreTask_ArchivedTask_IsLiveAgainAtTheNextVersion() {
+        Task completed = save(TaskStatus.COMPLETED, LocalDateTime.now().minusDays(60), null);
+        archiver.archivePending();
+
+        TaskResponseDto restored = archiveService.restoreTask(completed.getId());
+
+        assertThat(restored.getStatus()).isEqualTo(TaskStatus.COMPLETED);
+        assertThat(restored.getVersion()).isEqualTo(completed.getVersion() + 1);
+        assertThat(archiveRepository.count()).isZero();
+        assertThat(events.stream(TaskChangedEvent.class).filter(event -> event.getType()
+            == TaskChangedEvent.Type.CREATED)).hasSize(1);
+        // Restoring counts as a change, so the next run leaves it alone
+        assertThat(archiver.archivePending()).isZero();
+    }
+
+    @Test
+    void restoreTask_UnknownTask_ThrowsNotFound() {
+        assertThatThrownBy(() -> archiveService.restoreTask(-1L)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private Task save(TaskStatus status, LocalDateTime lastModified, LocalDateTime deleted) {
+        Task task = new Task();
+        task.setTitle(status + " task");
+        task.setStatus(status);
+        task.setCreatedDate(lastModified.minusDays(1));
+        task.setLastModifiedDate(lastModified);
+        task.setDeletedDate(deleted);
+        return taskRepository.save(task);
+    }
+}
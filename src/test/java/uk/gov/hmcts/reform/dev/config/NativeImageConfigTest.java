@@ -0,0 +1,56 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import uk.gov.hmcts.reform.dev.dto.TaskRequestDto;
+import uk.gov.hmcts.reform.dev.dto.TaskResponseDto;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.aot.hint.predicate.RuntimeHintsPredicates.proxies;
+import static org.springframework.aot.hint.predicate.RuntimeHintsPredicates.reflection;
+
+class NativeImageConfigTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void setUp() {
+        new NativeImageConfig.TaskRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registerHints_JsonTypesCanBeReadAndWritten() throws Exception {
+        assertThat(reflection().onMethod(TaskRequestDto.class.getMethod("setTitle", String.class)))
+            .accepts(hints);
+        assertThat(reflection().onMethod(TaskResponseDto.class.getMethod("getDueDate")))
+            .accepts(hints);
+        assertThat(reflection().onMethod(TaskChangedEvent.class.getMethod("getTask")))
+            .accepts(hints);
+        assertThat(reflection().onMethod(TaskStatus.class.getMethod("fromValue", String.class)))
+            .accepts(hints);
+    }
+
+    @Test
+    void registerHints_ValidatedAndPersistedFieldsAreReadable() throws Exception {
+        assertThat(reflection().onField(TaskRequestDto.class.getDeclaredField("title")))
+            .accepts(hints);
+        assertThat(reflection().onType(Task.class).withMemberCategory(MemberCategory.DECLARED_FIELDS)).accepts(hints);
+    }
+
+    @Test
+    void registerHints_DatasourceProxyJdbcProxiesAreKnown() {
+        assertThat(proxies().forInterfaces(ProxyJdbcObject.class, Connection.class))
+            .accepts(hints);
+        assertThat(proxies().forInterfaces(ProxyJdbcObject.class, PreparedStatement.class))
+            .accepts(hints);
+    }
+}
@@ -0,0 +1,37 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StartupConfigTest {
+
+    private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+    @Test
+    void markLazy_OnlyBeansInListedPackages() {
+        register("openApiResource", "org.springdoc.webmvc.api.OpenApiWebMvcResource", BeanDefinition.ROLE_APPLICATION);
+        register("springdocInternals", "org.springdoc.core.SpringdocInternals", BeanDefinition.ROLE_INFRASTRUCTURE);
+        register("springdocLookalike", "org.springdocs.Other", BeanDefinition.ROLE_APPLICATION);
+        register("taskService", "uk.gov.hmcts.reform.dev.services.TaskService", BeanDefinition.ROLE_APPLICATION);
+
+        StartupConfig.markLazy(beanFactory, List.of("org.springdoc"));
+
+        assertThat(beanFactory.getBeanDefinition("openApiResource").isLazyInit()).isTrue();
+        assertThat(beanFactory.getBeanDefinition("springdocInternals").isLazyInit()).isFalse();
+        assertThat(beanFactory.getBeanDefinition("springdocLookalike").isLazyInit()).isFalse();
+        assertThat(beanFactory.getBeanDefinition("taskService").isLazyInit()).isFalse();
+    }
+
+    private void register(String name, String className, int role) {
+        GenericBeanDefinition definition = new GenericBeanDefinition();
+        definition.setBeanClassName(className);
+        definition.setRole(role);
+        beanFactory.registerBeanDefinition(name, definition);
+    }
+}
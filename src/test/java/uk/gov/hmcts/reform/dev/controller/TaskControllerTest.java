@@ -8,20 +8,46 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import uk.gov.hmcts.reform.dev.controllers.TaskController;
+import uk.gov.hmcts.reform.dev.dto.TaskBatchItemResultDto;
+import uk.gov.hmcts.reform.dev.dto.TaskBatchResultDto;
+import uk.gov.hmcts.reform.dev.dto.TaskFilterDto;
+import uk.gov.hmcts.reform.dev.dto.TaskPageDto;
 import uk.gov.hmcts.reform.dev.dto.TaskRequestDto;
 import uk.gov.hmcts.reform.dev.dto.TaskResponseDto;
+import uk.gov.hmcts.reform.dev.dto.TaskSearchHitDto;
+import uk.gov.hmcts.reform.dev.dto.TaskSearchPageDto;
+import uk.gov.hmcts.reform.dev.dto.TaskStatsDto;
+import uk.gov.hmcts.reform.dev.events.TaskEventStream;
+import uk.gov.hmcts.reform.dev.exception.PreconditionFailedException;
+import uk.gov.hmcts.reform.dev.exception.ServiceOverloadedException;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+import uk.gov.hmcts.reform.dev.services.TaskArchiveService;
+import uk.gov.hmcts.reform.dev.services.TaskBatchService;
+import uk.gov.hmcts.reform.dev.services.TaskExportService;
+import uk.gov.hmcts.reform.dev.services.TaskSearchService;
 import uk.gov.hmcts.reform.dev.services.TaskService;
+import uk.gov.hmcts.reform.dev.stats.TaskStatistics;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
@@ -40,6 +66,24 @@ class TaskControllerTest {
     @MockitoBean
     private TaskService taskService;
 
+    @MockitoBean
+    private TaskExportService taskExportService;
+
+    @MockitoBean
+    private TaskEventStream taskEventStream;
+
+    @MockitoBean
+    private TaskSearchService taskSearchService;
+
+    @MockitoBean
+    private TaskBatchService taskBatchService;
+
+    @MockitoBean
+    private TaskStatistics taskStatistics;
+
+    @MockitoBean
+    private TaskArchiveService taskArchiveService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -51,8 +95,9 @@ class TaskControllerTest {
             .id(1L)
             .title("Test Task")
             .description("Test Description")
-            .status("OPEN")
+            .status(TaskStatus.OPEN)
             .dueDate(LocalDateTime.now().plusDays(1))
+            .version(3L)
             .build();
     }
 
@@ -68,12 +113,169 @@ class TaskControllerTest {
     }
 
     @Test
-    void getAllTasks_ReturnsTaskList() throws Exception {
-        when(taskService.getAllTasks()).thenReturn(Arrays.asList(taskResponseDto));
+    void createTasks_Batch_ReturnsPerItemResults() throws Exception {
+        TaskBatchResultDto result = new TaskBatchResultDto(1, 1, List.of(
+            new TaskBatchItemResultDto(0, 1L, 201, List.of(), taskResponseDto),
+            new TaskBatchItemResultDto(1, null, 400, List.of("Title must not be null"), null)
+        ));
+        when(taskBatchService.createTasks(Mockito.anyList())).thenReturn(result);
+
+        mockMvc.perform(post("/api/tasks/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[{\"title\":\"Test Task\"},{\"description\":\"No title\"}]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.succeeded").value(1))
+            .andExpect(jsonPath("$.results[0].status").value(201))
+            .andExpect(jsonPath("$.results[1].errors[0]").value("Title must not be null"));
+    }
+
+    @Test
+    void deleteTasks_Batch_PassesIdsToService() throws Exception {
+        when(taskBatchService.deleteTasks(List.of(1L, 2L))).thenReturn(new TaskBatchResultDto(
+            1, 1, List.of(new TaskBatchItemResultDto(0, 1L, 204, List.of(), null),
+                          new TaskBatchItemResultDto(1, 2L, 404, List.of("Task not found"), null))));
+
+        mockMvc.perform(delete("/api/tasks/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[1,2]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.results[1].status").value(404));
+    }
+
+    @Test
+    void getAllTasks_ReturnsTaskPage() throws Exception {
+        when(taskService.getTasks(any(TaskFilterDto.class), isNull(), isNull(), isNull()))
+            .thenReturn(new TaskPageDto(List.of(taskResponseDto), "next"));
 
         mockMvc.perform(get("/api/tasks"))
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$[0].title").value("Test Task"));
+            .andExpect(jsonPath("$.items[0].title").value("Test Task"))
+            .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void getAllTasks_WithFields_ReturnsOnlyRequestedFields() throws Exception {
+        when(taskService.getTasks(any(TaskFilterDto.class), isNull(), isNull(), isNull()))
+            .thenReturn(new TaskPageDto(List.of(taskResponseDto), null));
+
+        mockMvc.perform(get("/api/tasks").param("fields", "id,status"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].id").value(1))
+            .andExpect(jsonPath("$.items[0].status").value("OPEN"))
+            .andExpect(jsonPath("$.items[0].title").doesNotExist())
+            .andExpect(jsonPath("$.items[0].dueDate").doesNotExist());
+    }
+
+    @Test
+    void getAllTasks_UnknownField_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("fields", "id,password"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("BAD_REQUEST"));
+    }
+
+    @Test
+    void getAllTasks_StatusInAnyCase_BindsAsInARequestBody() throws Exception {
+        when(taskService.getTasks(
+            Mockito.eq(new TaskFilterDto(TaskStatus.IN_PROGRESS, null, null)),
+            Mockito.any(), Mockito.any(), Mockito.any()
+        )).thenReturn(new TaskPageDto(List.of(taskResponseDto), null));
+
+        mockMvc.perform(get("/api/tasks").param("status", "in-progress"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].title").value("Test Task"));
+    }
+
+    @Test
+    void getAllTasks_UnknownStatus_ReturnsSameBadRequestAsARequestBody() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("status", "someday"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("BAD_REQUEST"))
+            .andExpect(jsonPath("$.messages[0]").value("Unsupported status: someday"));
+
+        mockMvc.perform(post("/api/tasks")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"title\":\"Test Task\",\"status\":\"someday\"}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("BAD_REQUEST"))
+            .andExpect(jsonPath("$.messages[0]").value("Unsupported status: someday"));
+    }
+
+    @Test
+    void getAllTasks_WithFiltersAndCursor_PassesThemToService() throws Exception {
+        when(taskService.getTasks(
+            Mockito.eq(new TaskFilterDto(TaskStatus.OPEN, LocalDateTime.of(2030, 1, 1, 0, 0), null)),
+            Mockito.eq("dueDate"), Mockito.eq("abc"), Mockito.eq(10)
+        )).thenReturn(new TaskPageDto(List.of(taskResponseDto), null));
+
+        mockMvc.perform(get("/api/tasks")
+                            .param("status", "OPEN")
+                            .param("dueFrom", "2030-01-01T00:00:00")
+                            .param("sort", "dueDate")
+                            .param("cursor", "abc")
+                            .param("size", "10"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].title").value("Test Task"));
+    }
+
+    @Test
+    void exportTasks_StreamsNdjson() throws Exception {
+        when(taskExportService.exportTasks(any(OutputStream.class))).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
+    @Test
+    void searchTasks_ReturnsRankedHits() throws Exception {
+        TaskSearchPageDto page = TaskSearchPageDto.builder()
+            .items(List.of(new TaskSearchHitDto(taskResponseDto, 1.5f)))
+            .page(0)
+            .size(20)
+            .total(1)
+            .build();
+        when(taskSearchService.search("test", null, 20)).thenReturn(page);
+
+        mockMvc.perform(get("/api/tasks/search").param("q", "test").param("size", "20"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(1))
+            .andExpect(jsonPath("$.items[0].task.title").value("Test Task"))
+            .andExpect(jsonPath("$.items[0].score").value(1.5));
+    }
+
+    @Test
+    void getTaskStats_ReturnsCounters() throws Exception {
+        when(taskStatistics.snapshot()).thenReturn(TaskStatsDto.builder()
+                                                       .total(3)
+                                                       .byStatus(Map.of(TaskStatus.OPEN, 2L, TaskStatus.COMPLETED, 1L))
+                                                       .overdue(1)
+                                                       .dueToday(0)
+                                                       .build());
+
+        mockMvc.perform(get("/api/tasks/stats"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(3))
+            .andExpect(jsonPath("$.byStatus.OPEN").value(2))
+            .andExpect(jsonPath("$.overdue").value(1));
+    }
+
+    @Test
+    void streamEvents_PassesLastEventIdToStream() throws Exception {
+        when(taskEventStream.subscribe("5")).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/tasks/events").header("Last-Event-ID", "5"))
+            .andExpect(request().asyncStarted());
+
+        Mockito.verify(taskEventStream).subscribe("5");
     }
 
     @Test
@@ -85,9 +287,72 @@ class TaskControllerTest {
             .andExpect(jsonPath("$.title").value("Test Task"));
     }
 
+    @Test
+    void getTaskById_ReturnsVersionETag_AndNotModifiedWhenItMatches() throws Exception {
+        when(taskService.getTaskById(1L)).thenReturn(taskResponseDto);
+
+        mockMvc.perform(get("/api/tasks/1"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "W/\"1-3\""));
+
+        mockMvc.perform(get("/api/tasks/1").header("If-None-Match", "W/\"1-3\""))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    void getAllTasks_MatchingPageETag_ReturnsNotModified() throws Exception {
+        when(taskService.getTasks(any(TaskFilterDto.class), isNull(), isNull(), isNull()))
+            .thenReturn(new TaskPageDto(List.of(taskResponseDto), null));
+
+        String etag = mockMvc.perform(get("/api/tasks"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/tasks").header("If-None-Match", etag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void updateTask_IfMatchHeader_PassesExpectedVersion() throws Exception {
+        when(taskService.updateTask(Mockito.eq(1L), any(TaskRequestDto.class), Mockito.eq(3L)))
+            .thenReturn(taskResponseDto);
+
+        mockMvc.perform(put("/api/tasks/1")
+                            .header("If-Match", "W/\"1-3\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(taskResponseDto)))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "W/\"1-3\""));
+    }
+
+    @Test
+    void updateTaskStatus_StaleIfMatch_ReturnsPreconditionFailed() throws Exception {
+        when(taskService.updateTaskStatus(1L, TaskStatus.COMPLETED, 2L))
+            .thenThrow(new PreconditionFailedException("Task has changed since it was read"));
+
+        mockMvc.perform(patch("/api/tasks/1/status")
+                            .header("If-Match", "\"1-2\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"status\":\"COMPLETED\"}"))
+            .andExpect(status().isPreconditionFailed())
+            .andExpect(jsonPath("$.error").value("PRECONDITION_FAILED"));
+    }
+
+    @Test
+    void getTaskById_ServiceOverloaded_ReturnsServiceUnavailableWithRetryAfter() throws Exception {
+        when(taskService.getTaskById(1L))
+            .thenThrow(new ServiceOverloadedException("Too many concurrent requests", Duration.ofSeconds(1)));
+
+        mockMvc.perform(get("/api/tasks/1"))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string("Retry-After", "1"))
+            .andExpect(jsonPath("$.error").value("SERVICE_UNAVAILABLE"));
+    }
+
     @Test
     void updateTask_ValidInput_ReturnsUpdatedTask() throws Exception {
-        when(taskService.updateTask(Mockito.eq(1L), any(TaskRequestDto.class))).thenReturn(taskResponseDto);
+        when(taskService.updateTask(Mockito.eq(1L), any(TaskRequestDto.class), isNull())).thenReturn(taskResponseDto);
 
         mockMvc.perform(put("/api/tasks/1")
                             .contentType(MediaType.APPLICATION_JSON)
@@ -96,15 +361,38 @@ class TaskControllerTest {
             .andExpect(jsonPath("$.title").value("Test Task"));
     }
 
+    @Test
+    void updateTask_StaleVersion_ReturnsConflict() throws Exception {
+        when(taskService.updateTask(Mockito.eq(1L), any(TaskRequestDto.class), isNull()))
+            .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
+
+        mockMvc.perform(put("/api/tasks/1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(taskResponseDto)))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.error").value("CONFLICT"));
+    }
+
     @Test
     void deleteTask_ExistingId_ReturnsNoContent() throws Exception {
         mockMvc.perform(delete("/api/tasks/1"))
             .andExpect(status().isNoContent());
     }
 
+    @Test
+    void restoreTask_ArchivedId_ReturnsRestoredTaskWithETag() throws Exception {
+        when(taskArchiveService.restoreTask(1L)).thenReturn(taskResponseDto);
+
+        mockMvc.perform(post("/api/tasks/1/restore"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "W/\"1-3\""))
+            .andExpect(jsonPath("$.id").value(1));
+    }
+
     @Test
     void updateTaskStatus_ValidStatus_ReturnsUpdatedTask() throws Exception {
-        when(taskService.updateTaskStatus(Mockito.eq(1L), Mockito.eq("COMPLETED"))).thenReturn(taskResponseDto);
+        when(taskService.updateTaskStatus(Mockito.eq(1L), Mockito.eq(TaskStatus.COMPLETED), isNull()))
+            .thenReturn(taskResponseDto);
 
         mockMvc.perform(patch("/api/tasks/1/status")
                             .contentType(MediaType.APPLICATION_JSON)
@@ -112,4 +400,13 @@ class TaskControllerTest {
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.status").value("OPEN")); // Assuming the mock returns "OPEN"
     }
+
+    @Test
+    void updateTaskStatus_UnknownStatus_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(patch("/api/tasks/1/status")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"status\":\"SOMEDAY\"}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("BAD_REQUEST"));
+    }
 }
@@ -1,5 +1,6 @@
 package uk.gov.hmcts.reform.dev.dto;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
@@ -7,11 +8,14 @@ import jakarta.validation.ValidatorFactory;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.exception.InvalidRequestException;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
 
 import java.time.LocalDateTime;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class TaskRequestDtoTest
 {
@@ -30,7 +34,7 @@ public class TaskRequestDtoTest
         TaskRequestDto taskRequestDto = TaskRequestDto.builder()
             .title("Valid Title")
             .description("A description under 500 chars")
-            .status("OPEN")
+            .status(TaskStatus.OPEN)
             .dueDate(LocalDateTime.now().plusDays(1))
             .build();
 
@@ -47,7 +51,7 @@ public class TaskRequestDtoTest
         TaskRequestDto taskRequestDto = TaskRequestDto.builder()
             .title(null)                 // violates @NotNull
             .description("Desc")
-            .status("OPEN")
+            .status(TaskStatus.OPEN)
             .dueDate(LocalDateTime.now().plusDays(1))
             .build();
 
@@ -67,7 +71,7 @@ public class TaskRequestDtoTest
         TaskRequestDto taskRequestDto = TaskRequestDto.builder()
             .title("Hi")                 // shorter than min=3
             .description("Desc")
-            .status("OPEN")
+            .status(TaskStatus.OPEN)
             .dueDate(LocalDateTime.now().plusDays(1))
             .build();
 
@@ -87,7 +91,7 @@ public class TaskRequestDtoTest
         TaskRequestDto taskRequestDto = TaskRequestDto.builder()
             .title("Valid")
             .description(longDesc)
-            .status("OPEN")
+            .status(TaskStatus.OPEN)
             .dueDate(LocalDateTime.now().plusDays(1))
             .build();
 
@@ -101,23 +105,20 @@ public class TaskRequestDtoTest
     }
 
     @Test
-    void validateStatus_LongStatus_ThrowsSizeViolation() {
-        // Arrange
-        String longStatus = "S".repeat(21); // >20 chars
-        TaskRequestDto taskRequestDto = TaskRequestDto.builder()
-            .title("Valid")
-            .description("Desc")
-            .status(longStatus)
-            .dueDate(LocalDateTime.now().plusDays(1))
-            .build();
-
+    void deserialize_StatusInAnyCase_MapsToTaskStatus() throws Exception {
         // Act
-        Set<ConstraintViolation<TaskRequestDto>> violations = validator.validate(taskRequestDto);
+        TaskRequestDto taskRequestDto = new ObjectMapper().readValue(
+            "{\"title\":\"Valid\",\"status\":\"in progress\"}", TaskRequestDto.class);
 
         // Assert
-        assertThat(violations)
-            .anyMatch(v -> v.getPropertyPath().toString().equals("status")
-                && v.getMessage().contains("less than 20"));
+        assertThat(taskRequestDto.getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+    }
+
+    @Test
+    void deserialize_UnknownStatus_IsRejected() {
+        assertThatThrownBy(() -> new ObjectMapper().readValue(
+            "{\"title\":\"Valid\",\"status\":\"SOMEDAY\"}", TaskRequestDto.class))
+            .hasRootCauseInstanceOf(InvalidRequestException.class);
     }
 
     @Test
@@ -126,7 +127,7 @@ public class TaskRequestDtoTest
         TaskRequestDto taskRequestDto = TaskRequestDto.builder()
             .title("Valid")
             .description("Desc")
-            .status("OPEN")
+            .status(TaskStatus.OPEN)
             .dueDate(LocalDateTime.now().minusDays(1))  // violates @Future
             .build();
 
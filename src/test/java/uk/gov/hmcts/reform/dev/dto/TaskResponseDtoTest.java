@@ -3,6 +3,7 @@ package uk.gov.hmcts.reform.dev.dto;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
 
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
@@ -32,7 +33,7 @@ class TaskResponseDtoTest {
             .id(1L)
             .title("Valid Title")
             .description("A description under 500 chars")
-            .status("OPEN")
+            .status(TaskStatus.OPEN)
             .dueDate(LocalDateTime.now().plusDays(1))
             .build();
 
@@ -49,7 +50,7 @@ class TaskResponseDtoTest {
         TaskResponseDto taskResponseDto = TaskResponseDto.builder()
             .title("Valid Title")
             .description("A description under 500 chars")
-            .status("OPEN")
+            .status(TaskStatus.OPEN)
             .dueDate(LocalDateTime.now().plusDays(1))
             .build();
 
@@ -70,7 +71,7 @@ class TaskResponseDtoTest {
             .id(1L)
             .title(null)                 // violates @NotNull
             .description("Desc")
-            .status("OPEN")
+            .status(TaskStatus.OPEN)
             .dueDate(LocalDateTime.now().plusDays(1))
             .build();
 
@@ -91,7 +92,7 @@ class TaskResponseDtoTest {
             .id(1L)
             .title("Hi")                 // shorter than min=3
             .description("Desc")
-            .status("OPEN")
+            .status(TaskStatus.OPEN)
             .dueDate(LocalDateTime.now().plusDays(1))
             .build();
 
@@ -112,7 +113,7 @@ class TaskResponseDtoTest {
             .id(1L)
             .title("Valid")
             .description(longDesc)
-            .status("OPEN")
+            .status(TaskStatus.OPEN)
             .dueDate(LocalDateTime.now().plusDays(1))
             .build();
 
@@ -125,27 +126,6 @@ class TaskResponseDtoTest {
                 && v.getMessage().contains("less than 500"));
     }
 
-    @Test
-    void validateStatus_LongStatus_ThrowsSizeViolation() {
-        // Arrange
-        String longStatus = "S".repeat(21); // >20 chars
-        TaskResponseDto taskResponseDto = TaskResponseDto.builder()
-            .id(1L)
-            .title("Valid")
-            .description("Desc")
-            .status(longStatus)
-            .dueDate(LocalDateTime.now().plusDays(1))
-            .build();
-
-        // Act
-        Set<ConstraintViolation<TaskResponseDto>> violations = validator.validate(taskResponseDto);
-
-        // Assert
-        assertThat(violations)
-            .anyMatch(v -> v.getPropertyPath().toString().equals("status")
-                && v.getMessage().contains("less than 20"));
-    }
-
     @Test
     void validateDueDate_PastDate_ThrowsFutureViolation() {
         // Arrange
@@ -153,7 +133,7 @@ class TaskResponseDtoTest {
             .id(1L)
             .title("Valid")
             .description("Desc")
-            .status("OPEN")
+            .status(TaskStatus.OPEN)
             .dueDate(LocalDateTime.now().minusDays(1))  // violates @Future
             .build();
 
@@ -0,0 +1,173 @@
+package uk.gov.hmcts.reform.dev.events;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.config.TaskEventsProperties;
+import uk.gov.hmcts.reform.dev.exception.InvalidRequestException;
+import uk.gov.hmcts.reform.dev.exception.ServiceOverloadedException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskEventStreamTest {
+
+    private static final String EPOCH = "boot1";
+
+    private TaskEventStream stream;
+
+    @BeforeEach
+    void setUp() {
+        TaskEventsProperties properties = new TaskEventsProperties();
+        properties.setBufferSize(3);
+        properties.setSubscriberQueueCapacity(2);
+        properties.setMaxSubscribers(2);
+        properties.setHeartbeatInterval(Duration.ofHours(1));
+        stream = new TaskEventStream(properties, EPOCH);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.shutdown();
+    }
+
+    @Test
+    void onTaskChanged_DeliversToSubscribersInOrder() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        stream.register(new TaskEventStream.Subscriber(sink, 2), null);
+
+        stream.onTaskChanged(TaskChangedEvent.deleted(1L));
+        stream.onTaskChanged(TaskChangedEvent.deleted(2L));
+
+        awaitReceived(sink, 2);
+        assertThat(sink.received).containsExactly("boot1-1:1", "boot1-2:2");
+    }
+
+    @Test
+    void register_WithLastEventId_ReplaysMissedEvents() throws Exception {
+        for (long id = 1; id <= 3; id++) {
+            stream.onTaskChanged(TaskChangedEvent.deleted(id));
+        }
+        RecordingSink sink = new RecordingSink();
+
+        stream.register(new TaskEventStream.Subscriber(sink, 5), TaskEventStream.parseLastEventId("boot1-1"));
+
+        awaitReceived(sink, 2);
+        assertThat(sink.received).containsExactly("boot1-2:2", "boot1-3:3");
+    }
+
+    @Test
+    void register_LastEventIdOlderThanBuffer_SendsReset() throws Exception {
+        for (long id = 1; id <= 5; id++) {
+            stream.onTaskChanged(TaskChangedEvent.deleted(id));
+        }
+        RecordingSink sink = new RecordingSink();
+
+        stream.register(new TaskEventStream.Subscriber(sink, 5), TaskEventStream.parseLastEventId("boot1-1"));
+
+        awaitReceived(sink, 1);
+        assertThat(sink.received).containsExactly("reset:boot1-5");
+    }
+
+    @Test
+    void register_LastEventIdFromAnotherEpoch_SendsResetEvenWhenSequenceIsInRange() throws Exception {
+        for (long id = 1; id <= 3; id++) {
+            stream.onTaskChanged(TaskChangedEvent.deleted(id));
+        }
+        RecordingSink otherInstance = new RecordingSink();
+        RecordingSink beforeEpochs = new RecordingSink();
+
+        stream.register(new TaskEventStream.Subscriber(otherInstance, 5), TaskEventStream.parseLastEventId("boot0-2"));
+        stream.register(new TaskEventStream.Subscriber(beforeEpochs, 5), TaskEventStream.parseLastEventId("2"));
+
+        awaitReceived(otherInstance, 1);
+        awaitReceived(beforeEpochs, 1);
+        assertThat(otherInstance.received).containsExactly("reset:boot1-3");
+        assertThat(beforeEpochs.received).containsExactly("reset:boot1-3");
+    }
+
+    @Test
+    void parseLastEventId_NotAnEventId_IsRejected() {
+        assertThatThrownBy(() -> TaskEventStream.parseLastEventId("boot1-latest"))
+            .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void onTaskChanged_SlowSubscriber_IsDropped() throws Exception {
+        BlockingSink slow = new BlockingSink();
+        stream.register(new TaskEventStream.Subscriber(slow, 2), null);
+
+        stream.onTaskChanged(TaskChangedEvent.deleted(1L));
+        assertThat(slow.sending.await(5, TimeUnit.SECONDS)).isTrue();
+        // The first event is stuck in the socket write, so the next two fill the queue and the third overflows it
+        for (long id = 2; id <= 4; id++) {
+            stream.onTaskChanged(TaskChangedEvent.deleted(id));
+        }
+
+        assertThat(slow.closed).isTrue();
+        assertThat(stream.subscriberCount()).isZero();
+        slow.release.countDown();
+    }
+
+    @Test
+    void register_TooManySubscribers_ThrowsServiceOverloaded() {
+        stream.register(new TaskEventStream.Subscriber(new RecordingSink(), 2), null);
+        stream.register(new TaskEventStream.Subscriber(new RecordingSink(), 2), null);
+
+        assertThatThrownBy(() -> stream.register(new TaskEventStream.Subscriber(new RecordingSink(), 2), null))
+            .isInstanceOf(ServiceOverloadedException.class);
+    }
+
+    private static void awaitReceived(RecordingSink sink, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (sink.received.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static class RecordingSink implements TaskEventStream.EventSink {
+        final List<String> received = new CopyOnWriteArrayList<>();
+        volatile boolean closed;
+
+        @Override
+        public void send(TaskEventStream.StreamedEvent event) {
+            received.add(event.id() + ":" + event.event().getTaskId());
+        }
+
+        @Override
+        public void heartbeat() {
+            received.add("heartbeat");
+        }
+
+        @Override
+        public void reset(TaskEventStream.EventId lastEventId) {
+            received.add("reset:" + lastEventId);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static class BlockingSink extends RecordingSink {
+        final CountDownLatch sending = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void send(TaskEventStream.StreamedEvent event) {
+            sending.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
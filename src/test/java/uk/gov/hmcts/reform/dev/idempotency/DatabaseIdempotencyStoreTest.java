@@ -0,0 +1,103 @@
+package uk.gov.hmcts.reform.dev.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.dev.repositories.TaskIdempotencyKeyRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DatabaseIdempotencyStoreTest {
+
+    private static final Instant NOW = Instant.parse("2025-06-02T12:00:00Z");
+
+    @Autowired
+    private TaskIdempotencyKeyRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private DatabaseIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = storeAt(NOW);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void claim_FirstRequestOwnsKeyAndRepeatsSeeItInProgress() {
+        assertThat(store.claim("key-1", "hash")).isEmpty();
+
+        assertThat(store.claim("key-1", "hash")).hasValueSatisfying(
+            record -> assertThat(record.response()).isNull());
+    }
+
+    @Test
+    void complete_RecordedResponseIsReturnedToRepeats() {
+        store.claim("key-1", "hash");
+        store.complete("key-1", "hash", new IdempotentResponse(
+            201, Map.of("ETag", "\"0\""), "{\"id\":1}".getBytes(StandardCharsets.UTF_8)));
+
+        IdempotencyRecord record = store.claim("key-1", "hash").orElseThrow();
+
+        assertThat(record.requestHash()).isEqualTo("hash");
+        assertThat(record.response().status()).isEqualTo(201);
+        assertThat(record.response().headers()).containsEntry("ETag", "\"0\"");
+        assertThat(new String(record.response().body(), StandardCharsets.UTF_8)).isEqualTo("{\"id\":1}");
+    }
+
+    @Test
+    void release_LetsTheNextRequestRun() {
+        store.claim("key-1", "hash");
+        store.release("key-1");
+
+        assertThat(store.claim("key-1", "hash")).isEmpty();
+    }
+
+    @Test
+    void claim_AbandonedOrExpiredKeyIsTakenOver() {
+        store.claim("abandoned", "hash");
+        store.claim("expired", "hash");
+        store.complete("expired", "hash", new IdempotentResponse(201, Map.of(), new byte[0]));
+
+        assertThat(storeAt(NOW.plus(Duration.ofMinutes(2))).claim("abandoned", "other")).isEmpty();
+        assertThat(storeAt(NOW.plus(Duration.ofDays(2))).claim("expired", "other")).isEmpty();
+    }
+
+    @Test
+    void purgeExpired_RemovesOnlyExpiredKeys() {
+        store.claim("key-1", "hash");
+
+        assertThat(store.purgeExpired()).isZero();
+        assertThat(storeAt(NOW.plus(Duration.ofDays(2))).purgeExpired()).isEqualTo(1);
+        assertThat(repository.count()).isZero();
+    }
+
+    private DatabaseIdempotencyStore storeAt(Instant now) {
+        return new DatabaseIdempotencyStore(repository, transactionManager, new ObjectMapper(), Duration.ofDays(1),
+                                            Duration.ofMinutes(1), Duration.ofMinutes(10),
+                                            Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,196 @@
+package uk.gov.hmcts.reform.dev.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import uk.gov.hmcts.reform.dev.ratelimit.ClientIdentity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyFilterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final IdempotencyFilter filter = new IdempotencyFilter(
+        new InMemoryIdempotencyStore(100, Duration.ofHours(1)), new ObjectMapper(), Duration.ofSeconds(5), 255,
+        64, 1024, new ClientIdentity("X-Client-Id"), meterRegistry);
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    void repeatedKey_ReplaysRecordedResponseWithoutRunningAgain() throws Exception {
+        FilterChain chain = echo(201);
+
+        MockHttpServletResponse first = perform("key-1", "{\"title\":\"A\"}", chain);
+        MockHttpServletResponse second = perform("key-1", "{\"title\":\"A\"}", chain);
+
+        assertThat(executions).hasValue(1);
+        assertThat(first.getStatus()).isEqualTo(201);
+        assertThat(second.getStatus()).isEqualTo(201);
+        assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString()).contains("\"title\":\"A\"");
+        assertThat(second.getHeader(HttpHeaders.ETAG)).isEqualTo("\"0\"");
+        assertThat(second.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    void sameKeyDifferentBody_IsRejected() throws Exception {
+        FilterChain chain = echo(201);
+        perform("key-1", "{\"title\":\"A\"}", chain);
+
+        MockHttpServletResponse second = perform("key-1", "{\"title\":\"B\"}", chain);
+
+        assertThat(executions).hasValue(1);
+        assertThat(second.getStatus()).isEqualTo(422);
+        assertThat(second.getContentAsString()).contains("UNPROCESSABLE_ENTITY");
+    }
+
+    @Test
+    void serverError_IsNotRecorded() throws Exception {
+        FilterChain chain = echo(503);
+
+        perform("key-1", "{}", chain);
+        perform("key-1", "{}", chain);
+
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void sameKeyFromAnotherClient_RunsAgain() throws Exception {
+        FilterChain chain = echo(201);
+
+        MockHttpServletResponse first = perform("key-1", "alice", "{}", chain);
+        MockHttpServletResponse second = perform("key-1", "bob", "{}", chain);
+        MockHttpServletResponse repeat = perform("key-1", "alice", "{}", chain);
+
+        assertThat(executions).hasValue(2);
+        assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(second.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(repeat.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void bodyOverLimit_IsRejectedWithoutRunning() throws Exception {
+        FilterChain chain = echo(201);
+
+        MockHttpServletResponse response = perform("key-1", "x".repeat(65), chain);
+
+        assertThat(executions).hasValue(0);
+        assertThat(response.getStatus()).isEqualTo(413);
+        assertThat(meterRegistry.counter("tasks.idempotency.requests", "outcome", "too_large").count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void bodyOverLimitWithoutContentLength_IsRejectedWithoutRunning() throws Exception {
+        FilterChain chain = echo(201);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/tasks");
+        request.addHeader(IdempotencyFilter.HEADER, "key-1");
+        request.setContent("x".repeat(65).getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // As a chunked request arrives: no Content-Length, so the limit is found by reading
+        filter.doFilter(new HttpServletRequestWrapper(request) {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        }, response, chain);
+
+        assertThat(executions).hasValue(0);
+        assertThat(response.getStatus()).isEqualTo(413);
+    }
+
+    @Test
+    void noKey_PassesStraightThrough() throws Exception {
+        FilterChain chain = echo(201);
+
+        perform(null, "{}", chain);
+        perform(null, "{}", chain);
+
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void concurrentDuplicates_ShareOneExecution() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slow = (request, response) -> {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            echo(201).doFilter(request, response);
+        };
+
+        CompletableFuture<MockHttpServletResponse> original = CompletableFuture.supplyAsync(
+            () -> performUnchecked("key-1", "{}", slow));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<MockHttpServletResponse> duplicate = CompletableFuture.supplyAsync(
+            () -> performUnchecked("key-1", "{}", slow));
+        // Give the duplicate time to find the original in flight before letting the original finish
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThat(original.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(201);
+        MockHttpServletResponse shared = duplicate.get(5, TimeUnit.SECONDS);
+        assertThat(shared.getStatus()).isEqualTo(201);
+        assertThat(shared.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(executions).hasValue(1);
+        assertThat(meterRegistry.counter("tasks.idempotency.requests", "outcome", "coalesced").count())
+            .isEqualTo(1);
+    }
+
+    private FilterChain echo(int status) {
+        return (request, response) -> {
+            executions.incrementAndGet();
+            byte[] body = request.getInputStream().readAllBytes();
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(status);
+            httpResponse.setHeader(HttpHeaders.ETAG, "\"0\"");
+            httpResponse.setContentType("application/json");
+            httpResponse.getOutputStream().write(body);
+        };
+    }
+
+    private MockHttpServletResponse perform(String key, String body, FilterChain chain) throws Exception {
+        return perform(key, null, body, chain);
+    }
+
+    private MockHttpServletResponse perform(String key, String client, String body, FilterChain chain)
+        throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/tasks");
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        if (client != null) {
+            request.addHeader("X-Client-Id", client);
+        }
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private MockHttpServletResponse performUnchecked(String key, String body, FilterChain chain) {
+        try {
+            return perform(key, body, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
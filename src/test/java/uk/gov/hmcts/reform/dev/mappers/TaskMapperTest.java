@@ -0,0 +1,60 @@
+package uk.gov.hmcts.reform.dev.mappers;
+
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import uk.gov.hmcts.reform.dev.dto.TaskRequestDto;
+import uk.gov.hmcts.reform.dev.dto.TaskResponseDto;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskMapperTest {
+
+    private final TaskMapper taskMapper = Mappers.getMapper(TaskMapper.class);
+
+    @Test
+    void toEntity_RequestDto_CopiesFieldsWithoutId() {
+        LocalDateTime dueDate = LocalDateTime.now().plusDays(1);
+        TaskRequestDto request = new TaskRequestDto("Title", "Description", TaskStatus.OPEN, dueDate, null);
+
+        Task task = taskMapper.toEntity(request);
+
+        assertThat(task.getId()).isNull();
+        assertThat(task.getTitle()).isEqualTo("Title");
+        assertThat(task.getDescription()).isEqualTo("Description");
+        assertThat(task.getStatus()).isEqualTo(TaskStatus.OPEN);
+        assertThat(task.getDueDate()).isEqualTo(dueDate);
+    }
+
+    @Test
+    void toResponses_Entities_MapsEveryRowInOrder() {
+        Task first = new Task(1L, "First", null, TaskStatus.OPEN, LocalDateTime.now(), null, 0L, null, null);
+        Task second = new Task(2L, "Second", "Desc", TaskStatus.COMPLETED, LocalDateTime.now(), null, 0L, null, null);
+
+        List<TaskResponseDto> responses = taskMapper.toResponses(List.of(first, second));
+
+        assertThat(responses).extracting(TaskResponseDto::getId).containsExactly(1L, 2L);
+        assertThat(responses.get(1).getStatus()).isEqualTo(TaskStatus.COMPLETED);
+    }
+
+    @Test
+    void updateEntity_NullFieldsInRequest_KeepsExistingValues() {
+        LocalDateTime created = LocalDateTime.now().minusDays(1);
+        LocalDateTime dueDate = LocalDateTime.now().plusDays(3);
+        Task task = new Task(7L, "Original", "Original description", TaskStatus.OPEN, created, dueDate, 0L, null, null);
+        TaskRequestDto request = TaskRequestDto.builder().status(TaskStatus.COMPLETED).build();
+
+        taskMapper.updateEntity(request, task);
+
+        assertThat(task.getId()).isEqualTo(7L);
+        assertThat(task.getTitle()).isEqualTo("Original");
+        assertThat(task.getDescription()).isEqualTo("Original description");
+        assertThat(task.getStatus()).isEqualTo(TaskStatus.COMPLETED);
+        assertThat(task.getCreatedDate()).isEqualTo(created);
+        assertThat(task.getDueDate()).isEqualTo(dueDate);
+    }
+}
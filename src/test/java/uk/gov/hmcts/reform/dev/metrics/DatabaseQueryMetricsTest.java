@@ -0,0 +1,57 @@
+package uk.gov.hmcts.reform.dev.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DatabaseQueryMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DatabaseQueryMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        metrics = new DatabaseQueryMetrics(beanFactory.getBeanProvider(MeterRegistry.class));
+    }
+
+    @Test
+    void afterQuery_TimesStatementByType() {
+        execute("select * from tasks where id = ?");
+        execute("update tasks set status = ? where id = ?");
+
+        assertThat(meterRegistry.get("tasks.db.statements").tag("type", "select").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("tasks.db.statements").tag("type", "update").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void endRequest_CountsOnlyStatementsInsideTheRequest() {
+        execute("select 1");
+
+        DatabaseQueryMetrics.beginRequest();
+        execute("select * from tasks");
+        execute("select * from tasks");
+        DatabaseQueryMetrics.RequestStatements statements = DatabaseQueryMetrics.endRequest();
+
+        assertThat(statements.getStatements()).isEqualTo(2);
+        assertThat(DatabaseQueryMetrics.endRequest().getStatements()).isZero();
+    }
+
+    private void execute(String sql) {
+        ExecutionInfo execInfo = new ExecutionInfo();
+        execInfo.setSuccess(true);
+        List<QueryInfo> queries = List.of(new QueryInfo(sql));
+        metrics.beforeQuery(execInfo, queries);
+        metrics.afterQuery(execInfo, queries);
+    }
+}
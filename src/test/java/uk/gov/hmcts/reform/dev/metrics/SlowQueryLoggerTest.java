@@ -0,0 +1,63 @@
+package uk.gov.hmcts.reform.dev.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import uk.gov.hmcts.reform.dev.config.SlowQueryProperties;
+
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(OutputCaptureExtension.class)
+class SlowQueryLoggerTest {
+
+    @Test
+    void afterQuery_OverThreshold_LogsParameterTypesButNotValues(CapturedOutput output) throws Exception {
+        SlowQueryLogger logger = new SlowQueryLogger(properties(Duration.ofMillis(100), 0));
+
+        logger.afterQuery(execution(150), List.of(query("select * from tasks where title = ?", "secret title")));
+
+        assertThat(output).contains("Slow query", "elapsedMs=150", "parameterTypes=[String]",
+                                    "sql=select * from tasks where title = ?");
+        assertThat(output).doesNotContain("secret title");
+    }
+
+    @Test
+    void afterQuery_UnderThresholdAndNotSampled_LogsNothing(CapturedOutput output) throws Exception {
+        SlowQueryLogger logger = new SlowQueryLogger(properties(Duration.ofMillis(100), 0));
+
+        logger.afterQuery(execution(5), List.of(query("select * from tasks where id = ?", 1L)));
+
+        assertThat(output).doesNotContain("select * from tasks");
+    }
+
+    private static SlowQueryProperties properties(Duration threshold, double sampleRate) {
+        SlowQueryProperties properties = new SlowQueryProperties();
+        properties.setEnabled(true);
+        properties.setThreshold(threshold);
+        properties.setSampleRate(sampleRate);
+        return properties;
+    }
+
+    private static ExecutionInfo execution(long elapsedMillis) {
+        ExecutionInfo execInfo = new ExecutionInfo();
+        execInfo.setElapsedTime(elapsedMillis);
+        execInfo.setSuccess(true);
+        return execInfo;
+    }
+
+    private static QueryInfo query(String sql, Object parameter) throws NoSuchMethodException {
+        Method setObject = PreparedStatement.class.getMethod("setObject", int.class, Object.class);
+        QueryInfo queryInfo = new QueryInfo(sql);
+        queryInfo.getParametersList().add(List.of(new ParameterSetOperation(setObject, new Object[]{1, parameter})));
+        return queryInfo;
+    }
+}
@@ -0,0 +1,174 @@
+package uk.gov.hmcts.reform.dev.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.config.TaskOutboxProperties;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.models.TaskOutboxEvent;
+import uk.gov.hmcts.reform.dev.repositories.TaskOutboxRepository;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {"tasks.outbox.batch-size=2", "tasks.outbox.poll-interval=1h"})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TaskOutboxRelay.class, TaskOutboxWriter.class, TaskOutboxRelayTest.Config.class})
+class TaskOutboxRelayTest {
+
+    @EnableConfigurationProperties(TaskOutboxProperties.class)
+    static class Config {
+        @Bean
+        InMemoryTaskOutboxSink taskOutboxSink() {
+            return new InMemoryTaskOutboxSink(3);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().findAndRegisterModules();
+        }
+    }
+
+    @Autowired
+    private TaskOutboxRelay relay;
+
+    @Autowired
+    private TaskOutboxRepository outboxRepository;
+
+    @Autowired
+    private InMemoryTaskOutboxSink sink;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @AfterEach
+    void tearDown() {
+        outboxRepository.deleteAllInBatch();
+        sink.drain();
+    }
+
+    @Test
+    void onTaskChanged_InsideTransaction_WritesOutboxRow() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+            status -> eventPublisher.publishEvent(TaskChangedEvent.deleted(7L)));
+
+        List<TaskOutboxEvent> rows = outboxRepository.findAll();
+        assertThat(rows).singleElement().satisfies(row -> {
+            assertThat(row.getEventType()).isEqualTo(TaskChangedEvent.Type.DELETED);
+            assertThat(row.getTaskId()).isEqualTo(7L);
+            assertThat(row.getPayload()).contains("\"type\":\"DELETED\"");
+        });
+    }
+
+    @Test
+    void onTaskChanged_WithoutTransaction_IsRejected() {
+        assertThatThrownBy(() -> eventPublisher.publishEvent(TaskChangedEvent.deleted(7L)))
+            .isInstanceOf(IllegalTransactionStateException.class);
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    @Test
+    void relayPending_DeliversInIdOrderAndEmptiesOutbox() {
+        insertEvents(3);
+
+        int relayed = relay.relayPending();
+
+        assertThat(relayed).isEqualTo(3);
+        assertThat(sink.drain()).extracting(TaskOutboxEvent::getTaskId).containsExactly(1L, 2L, 3L);
+        assertThat(outboxRepository.count()).isZero();
+        assertThat(meterRegistry.counter("tasks.outbox.published").count()).isEqualTo(3);
+    }
+
+    @Test
+    void relayPending_SinkRefusesBatch_KeepsEventsForRetry() {
+        insertEvents(4);
+
+        // The first batch of two fits in the sink, the second does not
+        assertThatThrownBy(() -> relay.relayPending()).isInstanceOf(UncheckedIOException.class);
+        assertThat(outboxRepository.count()).isEqualTo(2);
+        assertThat(sink.drain()).extracting(TaskOutboxEvent::getTaskId).containsExactly(1L, 2L);
+
+        assertThat(relay.relayPending()).isEqualTo(2);
+        assertThat(sink.drain()).extracting(TaskOutboxEvent::getTaskId).containsExactly(3L, 4L);
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    @Test
+    void relayPending_TaskChangedOnAnotherInstanceInBetween_DeliversItsChangesInOrder() {
+        insertEvent(1L, 0L);
+        // Another instance writing the task's next change takes its id straight from the sequence
+        long otherInstanceId = new TransactionTemplate(transactionManager).execute(status -> {
+            long id = ((Number) entityManager.createNativeQuery("SELECT NEXT VALUE FOR task_outbox_seq")
+                .getSingleResult()).longValue();
+            entityManager.createNativeQuery("INSERT INTO task_outbox (id, event_type, task_id, task_version, "
+                                                + "payload, created_date) VALUES (?, 'UPDATED', 1, 1, '{}', "
+                                                + "LOCALTIMESTAMP)")
+                .setParameter(1, id)
+                .executeUpdate();
+            return id;
+        });
+        insertEvent(1L, 2L);
+
+        relay.relayPending();
+
+        List<TaskOutboxEvent> delivered = sink.drain();
+        assertThat(delivered).extracting(TaskOutboxEvent::getTaskVersion).containsExactly(0L, 1L, 2L);
+        assertThat(delivered.get(2).getId()).isGreaterThan(otherInstanceId);
+    }
+
+    private void insertEvent(long taskId, long version) {
+        outboxRepository.save(TaskOutboxEvent.builder()
+                                  .eventType(TaskChangedEvent.Type.UPDATED)
+                                  .taskId(taskId)
+                                  .taskVersion(version)
+                                  .payload("{}")
+                                  .createdDate(LocalDateTime.now())
+                                  .build());
+    }
+
+    private void insertEvents(int count) {
+        for (long taskId = 1; taskId <= count; taskId++) {
+            outboxRepository.save(TaskOutboxEvent.builder()
+                                      .eventType(TaskChangedEvent.Type.CREATED)
+                                      .taskId(taskId)
+                                      .taskVersion(0L)
+                                      .payload("{}")
+                                      .createdDate(LocalDateTime.now())
+                                      .build());
+        }
+    }
+}
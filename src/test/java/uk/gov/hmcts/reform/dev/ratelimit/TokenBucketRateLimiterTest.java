@@ -0,0 +1,44 @@
+package uk.gov.hmcts.reform.dev.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    // 10 per second with a burst of 3
+    private final TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(10, 3, 100, nanos::get);
+
+    @Test
+    void tryAcquire_AllowsBurstThenRejectsUntilRefilled() {
+        IntStream.range(0, 3).forEach(i -> assertThat(rateLimiter.tryAcquire("batch")).isZero());
+
+        assertThat(rateLimiter.tryAcquire("batch")).isEqualTo(Duration.ofMillis(100));
+
+        nanos.addAndGet(Duration.ofMillis(100).toNanos());
+        assertThat(rateLimiter.tryAcquire("batch")).isZero();
+        assertThat(rateLimiter.tryAcquire("batch")).isPositive();
+    }
+
+    @Test
+    void tryAcquire_ClientsHaveSeparateBuckets() {
+        IntStream.range(0, 3).forEach(i -> rateLimiter.tryAcquire("batch"));
+
+        assertThat(rateLimiter.tryAcquire("batch")).isPositive();
+        assertThat(rateLimiter.tryAcquire("interactive")).isZero();
+    }
+
+    @Test
+    void tryAcquire_IdleClientRefillsOnlyUpToBurst() {
+        rateLimiter.tryAcquire("batch");
+        nanos.addAndGet(Duration.ofMinutes(1).toNanos());
+
+        IntStream.range(0, 3).forEach(i -> assertThat(rateLimiter.tryAcquire("batch")).isZero());
+        assertThat(rateLimiter.tryAcquire("batch")).isPositive();
+    }
+}
@@ -0,0 +1,81 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import uk.gov.hmcts.reform.dev.config.JpaAuditingConfig;
+import uk.gov.hmcts.reform.dev.migration.TasksSequenceMigration;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts from the table Hibernate's ddl-auto created before the migrations existed, with rows
+ * already in it, and lets Flyway bring it up to date as it would on such a database.
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=" + LegacySchemaMigrationTest.URL,
+    "spring.datasource.username=sa",
+    "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({JpaAuditingConfig.class, TasksSequenceMigration.class})
+class LegacySchemaMigrationTest {
+
+    static final String URL = "jdbc:h2:mem:legacy_tasks;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    // Runs before the Spring context, and so before Flyway, is started
+    @BeforeAll
+    static void createLegacyTable() throws Exception {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE tasks (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                                  + "title VARCHAR(255), description VARCHAR(255), status VARCHAR(255), "
+                                  + "created_date TIMESTAMP(6) NOT NULL, due_date TIMESTAMP(6))");
+            for (int i = 0; i < 120; i++) {
+                statement.execute("INSERT INTO tasks (title, status, created_date) "
+                                      + "VALUES ('Legacy " + i + "', 'open', LOCALTIMESTAMP)");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("New tasks get ids past the ones created before the sequence existed")
+    void save_AfterMigratingLegacyRows_DoesNotReuseIds() {
+        List<Task> created = taskRepository.saveAllAndFlush(List.of(newTask("First"), newTask("Second")));
+
+        assertThat(created).extracting(Task::getId).allSatisfy(id -> assertThat(id).isGreaterThan(120L));
+        assertThat(taskRepository.count()).isEqualTo(122);
+    }
+
+    @Test
+    @DisplayName("Descriptions up to the 500 characters requests allow fit the legacy column")
+    void save_LongDescription_FitsWidenedColumn() {
+        Task task = newTask("Long description");
+        task.setDescription("x".repeat(500));
+
+        assertThat(taskRepository.saveAndFlush(task).getId()).isNotNull();
+    }
+
+    private static Task newTask(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStatus(TaskStatus.OPEN);
+        return task;
+    }
+}
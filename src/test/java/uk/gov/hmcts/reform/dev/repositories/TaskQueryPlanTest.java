@@ -0,0 +1,166 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import uk.gov.hmcts.reform.dev.config.DatabaseMetricsConfig;
+import uk.gov.hmcts.reform.dev.config.JpaAuditingConfig;
+import uk.gov.hmcts.reform.dev.dto.TaskFilterDto;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+import uk.gov.hmcts.reform.dev.services.TaskSort;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the list endpoint's queries as TaskService builds them, captures the SQL Hibernate sends
+ * through the datasource-proxy listener, and runs EXPLAIN on that statement with the same
+ * parameters against the Flyway schema in H2, so a dropped index or a query that stops using it
+ * shows up as a failing test.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({JpaAuditingConfig.class, DatabaseMetricsConfig.class, TaskQueryPlanTest.Config.class})
+class TaskQueryPlanTest {
+
+    static class Config {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        CapturedQueries capturedQueries() {
+            return new CapturedQueries();
+        }
+    }
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CapturedQueries capturedQueries;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Task task = new Task();
+            task.setTitle("Plan task " + i);
+            task.setStatus(TaskStatus.values()[i % TaskStatus.values().length]);
+            task.setDueDate(base.plusHours(i));
+            tasks.add(task);
+        }
+        taskRepository.saveAllAndFlush(tasks);
+        entityManager.createNativeQuery("ANALYZE").executeUpdate();
+    }
+
+    @Test
+    @DisplayName("Status filter ordered by due date uses the status/due date index")
+    void statusFilterByDueDate_UsesCompositeIndex() {
+        TaskFilterDto filter = TaskFilterDto.builder()
+            .status(TaskStatus.OPEN)
+            .dueFrom(LocalDateTime.now())
+            .build();
+
+        String plan = explainPage(filter, TaskSort.DUE_DATE);
+
+        assertThat(plan).containsIgnoringCase("IX_TASKS_STATUS_DUE_DATE");
+    }
+
+    @Test
+    @DisplayName("Due date range without a status filter uses the due date index")
+    void dueDateRange_UsesDueDateIndex() {
+        TaskFilterDto filter = TaskFilterDto.builder()
+            .dueFrom(LocalDateTime.now())
+            .dueTo(LocalDateTime.now().plusDays(2))
+            .build();
+
+        String plan = explainPage(filter, TaskSort.DUE_DATE);
+
+        assertThat(plan).containsIgnoringCase("IX_TASKS_DUE_DATE");
+    }
+
+    // Runs the page query exactly as TaskService.getTasks does and explains the statement it sent
+    private String explainPage(TaskFilterDto filter, TaskSort sort) {
+        capturedQueries.clear();
+        taskRepository.findBy(
+            TaskSpecifications.forPage(filter, sort, null),
+            query -> query.sortBy(sort.toSort()).limit(51).all()
+        );
+        QueryInfo select = capturedQueries.lastSelectFromTasks();
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + select.getQuery())) {
+                if (!select.getParametersList().isEmpty()) {
+                    select.getParametersList().get(0).forEach(operation -> replay(operation, explain));
+                }
+                try (ResultSet result = explain.executeQuery()) {
+                    result.next();
+                    return result.getString(1);
+                }
+            }
+        });
+    }
+
+    // Calls the same setter with the same arguments Hibernate used on the original statement
+    private static void replay(ParameterSetOperation operation, PreparedStatement statement) {
+        try {
+            operation.getMethod().invoke(statement, operation.getArgs());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static class CapturedQueries implements QueryExecutionListener {
+
+        private final List<QueryInfo> queries = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            queries.addAll(queryInfoList);
+        }
+
+        void clear() {
+            queries.clear();
+        }
+
+        QueryInfo lastSelectFromTasks() {
+            for (int i = queries.size() - 1; i >= 0; i--) {
+                String sql = queries.get(i).getQuery().toLowerCase(Locale.ROOT);
+                if (sql.startsWith("select") && sql.contains(" from tasks ")) {
+                    return queries.get(i);
+                }
+            }
+            throw new AssertionError("No select from tasks was captured: " + queries);
+        }
+    }
+}
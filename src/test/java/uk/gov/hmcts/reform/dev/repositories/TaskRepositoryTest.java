@@ -7,9 +7,14 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 import uk.gov.hmcts.reform.dev.config.JpaAuditingConfig;
+import uk.gov.hmcts.reform.dev.dto.TaskFilterDto;
 import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+import uk.gov.hmcts.reform.dev.services.TaskPageCursor;
+import uk.gov.hmcts.reform.dev.services.TaskSort;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -29,7 +34,7 @@ class TaskRepositoryTest {
         Task task = new Task();
         task.setTitle("Test Task");
         task.setDescription("Testing save and findById");
-        task.setStatus("OPEN");
+        task.setStatus(TaskStatus.OPEN);
         task.setDueDate(LocalDateTime.now().plusDays(1));
 
         // Act
@@ -48,14 +53,14 @@ class TaskRepositoryTest {
         Task task = new Task();
         task.setTitle("Initial Title");
         task.setDescription("Initial Description");
-        task.setStatus("Pending");
+        task.setStatus(TaskStatus.PENDING);
         task.setDueDate(LocalDateTime.now().plusDays(7));
         Task savedTask = taskRepository.save(task);
 
         // Act
         savedTask.setTitle("Updated Title");
         savedTask.setDescription("Updated Description");
-        savedTask.setStatus("Completed");
+        savedTask.setStatus(TaskStatus.COMPLETED);
         LocalDateTime updatedDueDate = LocalDateTime.now().plusDays(14);
         savedTask.setDueDate(updatedDueDate);
         Task updatedTask = taskRepository.save(savedTask);
@@ -63,7 +68,7 @@ class TaskRepositoryTest {
         // Assert
         assertThat(updatedTask.getTitle()).isEqualTo("Updated Title");
         assertThat(updatedTask.getDescription()).isEqualTo("Updated Description");
-        assertThat(updatedTask.getStatus()).isEqualTo("Completed");
+        assertThat(updatedTask.getStatus()).isEqualTo(TaskStatus.COMPLETED);
         assertThat(updatedTask.getDueDate()).isEqualTo(updatedDueDate);
     }
 
@@ -74,7 +79,7 @@ class TaskRepositoryTest {
         Task task = new Task();
         task.setTitle("Delete Test");
         task.setDescription("Testing delete");
-        task.setStatus("OPEN");
+        task.setStatus(TaskStatus.OPEN);
         task.setDueDate(LocalDateTime.now().plusDays(1));
 
         Task savedTask = taskRepository.save(task);
@@ -87,4 +92,102 @@ class TaskRepositoryTest {
         // Assert
         assertThat(deletedTask).isNotPresent();
     }
+
+    @Test
+    @DisplayName("Status update is a single statement that bumps the version")
+    void updateStatus_ExistingTask_ChangesStatusAndVersion() {
+        // Arrange
+        Task savedTask = taskRepository.saveAndFlush(newTask("Status Test", TaskStatus.OPEN, null));
+        Long initialVersion = savedTask.getVersion();
+
+        // Act
+        int updated = taskRepository.updateStatus(savedTask.getId(), TaskStatus.COMPLETED);
+        Task reloaded = taskRepository.findById(savedTask.getId()).orElseThrow();
+
+        // Assert
+        assertThat(updated).isEqualTo(1);
+        assertThat(reloaded.getStatus()).isEqualTo(TaskStatus.COMPLETED);
+        assertThat(reloaded.getVersion()).isEqualTo(initialVersion + 1);
+    }
+
+    @Test
+    @DisplayName("Conditional status update only applies at the expected version")
+    void updateStatusIfVersion_StaleVersion_UpdatesNothing() {
+        // Arrange
+        Task savedTask = taskRepository.saveAndFlush(newTask("Conditional", TaskStatus.OPEN, null));
+        Long version = savedTask.getVersion();
+
+        // Act
+        int stale = taskRepository.updateStatusIfVersion(savedTask.getId(), TaskStatus.CANCELLED, version + 1);
+        int current = taskRepository.updateStatusIfVersion(savedTask.getId(), TaskStatus.COMPLETED, version);
+
+        // Assert
+        assertThat(stale).isZero();
+        assertThat(current).isEqualTo(1);
+        assertThat(taskRepository.findById(savedTask.getId()).orElseThrow().getStatus())
+            .isEqualTo(TaskStatus.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("Status update and delete report zero rows for a missing task")
+    void modifyingQueries_MissingTask_ReturnZero() {
+        assertThat(taskRepository.updateStatus(-1L, TaskStatus.COMPLETED)).isZero();
+        assertThat(taskRepository.deleteTaskById(-1L)).isZero();
+    }
+
+    @Test
+    @DisplayName("A deleted task is hidden from queries until it is undeleted")
+    void deleteTaskById_SoftDeletes_AndUndeleteBringsItBack() {
+        // Arrange
+        Task task = new Task();
+        task.setTitle("Soft deleted");
+        task.setStatus(TaskStatus.OPEN);
+        Task savedTask = taskRepository.save(task);
+
+        // Act
+        int deleted = taskRepository.deleteTaskById(savedTask.getId());
+        int deletedAgain = taskRepository.deleteTaskById(savedTask.getId());
+
+        // Assert
+        assertThat(deleted).isEqualTo(1);
+        assertThat(deletedAgain).isZero();
+        assertThat(taskRepository.findById(savedTask.getId())).isEmpty();
+        assertThat(taskRepository.updateStatus(savedTask.getId(), TaskStatus.COMPLETED)).isZero();
+
+        assertThat(taskRepository.undeleteTaskById(savedTask.getId(), LocalDateTime.now())).isEqualTo(1);
+        assertThat(taskRepository.findById(savedTask.getId())).hasValueSatisfying(
+            restored -> assertThat(restored.getVersion()).isEqualTo(savedTask.getVersion() + 2));
+    }
+
+    @Test
+    @DisplayName("Keyset page by due date continues after the cursor and applies filters")
+    void findPage_DueDateCursor_ReturnsFollowingMatchingRows() {
+        // Arrange
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+        Task first = taskRepository.save(newTask("First", TaskStatus.OPEN, base));
+        Task second = taskRepository.save(newTask("Second", TaskStatus.OPEN, base));
+        Task third = taskRepository.save(newTask("Third", TaskStatus.OPEN, base.plusHours(1)));
+        taskRepository.save(newTask("Closed", TaskStatus.COMPLETED, base.plusHours(2)));
+        taskRepository.save(newTask("Undated", TaskStatus.OPEN, null));
+
+        TaskFilterDto filter = TaskFilterDto.builder().status(TaskStatus.OPEN).build();
+        TaskPageCursor cursor = TaskPageCursor.after(TaskSort.DUE_DATE, first);
+
+        // Act
+        List<Task> page = taskRepository.findBy(
+            TaskSpecifications.forPage(filter, TaskSort.DUE_DATE, cursor),
+            query -> query.sortBy(TaskSort.DUE_DATE.toSort()).limit(10).all()
+        );
+
+        // Assert
+        assertThat(page).extracting(Task::getId).containsExactly(second.getId(), third.getId());
+    }
+
+    private Task newTask(String title, TaskStatus status, LocalDateTime dueDate) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStatus(status);
+        task.setDueDate(dueDate);
+        return task;
+    }
 }
@@ -0,0 +1,180 @@
+package uk.gov.hmcts.reform.dev.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import uk.gov.hmcts.reform.dev.config.TaskSearchProperties;
+import uk.gov.hmcts.reform.dev.datasource.ReadYourWrites;
+import uk.gov.hmcts.reform.dev.dto.TaskResponseDto;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskSearchIndexTest {
+
+    private TaskSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskSearchIndex(mock(TaskRepository.class), mock(PlatformTransactionManager.class),
+                                    new TaskSearchProperties());
+        index.load(Stream.of(
+            task(1L, "Prepare hearing bundle", "Collect the witness statements", 0L),
+            task(2L, "Call the applicant", "Discuss the hearing date and the bundle", 0L),
+            task(3L, "Archive old cases", "Nothing to do with hearings", 0L)
+        ));
+    }
+
+    @Test
+    void loadFromDatabase_ReadsFromThePrimary() {
+        TaskRepository taskRepository = mock(TaskRepository.class);
+        AtomicBoolean pinned = new AtomicBoolean();
+        when(taskRepository.streamAllForExport()).thenAnswer(invocation -> {
+            pinned.set(ReadYourWrites.isPinnedToPrimary());
+            return Stream.of(task(1L, "Prepare hearing bundle", null, 0L));
+        });
+        TaskSearchIndex loaded = new TaskSearchIndex(taskRepository, mock(PlatformTransactionManager.class),
+                                                     new TaskSearchProperties());
+
+        loaded.loadFromDatabase();
+
+        assertThat(pinned).isTrue();
+        assertThat(ReadYourWrites.isPinnedToPrimary()).isFalse();
+        assertThat(loaded.isReady()).isTrue();
+    }
+
+    @Test
+    void search_RanksTitleMatchesAboveDescriptionMatches() {
+        TaskSearchIndex.SearchResult result = index.search("Hearing", 0, 10);
+
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.hits()).extracting(TaskSearchIndex.Hit::taskId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void search_RequiresEveryTerm() {
+        TaskSearchIndex.SearchResult result = index.search("bundle date", 0, 10);
+
+        assertThat(result.hits()).extracting(TaskSearchIndex.Hit::taskId).containsExactly(2L);
+    }
+
+    @Test
+    void search_PagesThroughRankedHits() {
+        TaskSearchIndex.SearchResult second = index.search("hearing", 1, 1);
+
+        assertThat(second.total()).isEqualTo(2);
+        assertThat(second.hits()).extracting(TaskSearchIndex.Hit::taskId).containsExactly(2L);
+    }
+
+    @Test
+    void onTaskChanged_UpdateReplacesOldTerms() {
+        index.onTaskChanged(TaskChangedEvent.updated(task(1L, "Prepare tribunal bundle", null, 1L)));
+
+        assertThat(index.search("tribunal", 0, 10).hits()).extracting(TaskSearchIndex.Hit::taskId).containsExactly(1L);
+        assertThat(index.search("witness", 0, 10).total()).isZero();
+    }
+
+    @Test
+    void onTaskChanged_OlderVersionIsIgnored() {
+        index.onTaskChanged(TaskChangedEvent.updated(task(1L, "Newer title", null, 5L)));
+        index.onTaskChanged(TaskChangedEvent.updated(task(1L, "Older title", null, 4L)));
+
+        assertThat(index.search("newer", 0, 10).total()).isEqualTo(1);
+        assertThat(index.search("older", 0, 10).total()).isZero();
+    }
+
+    @Test
+    void onTaskChanged_DeleteRemovesTask() {
+        index.onTaskChanged(TaskChangedEvent.deleted(2L));
+
+        assertThat(index.search("applicant", 0, 10).total()).isZero();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void load_DeleteArrivingDuringLoadIsAppliedAfterwards() {
+        TaskSearchIndex loading = new TaskSearchIndex(mock(TaskRepository.class),
+                                                      mock(PlatformTransactionManager.class),
+                                                      new TaskSearchProperties());
+        loading.onTaskChanged(TaskChangedEvent.deleted(7L));
+        assertThat(loading.isReady()).isFalse();
+
+        loading.load(Stream.of(task(7L, "Deleted while loading", null, 0L)));
+
+        assertThat(loading.isReady()).isTrue();
+        assertThat(loading.search("deleted", 0, 10).total()).isZero();
+    }
+
+    @Test
+    void loadFromDatabase_FailedLoad_CanBeRetried() {
+        TaskRepository taskRepository = mock(TaskRepository.class);
+        when(taskRepository.streamAllForExport())
+            .thenThrow(new IllegalStateException("Database unavailable"))
+            .thenAnswer(invocation -> Stream.of(task(1L, "Prepare hearing bundle", null, 0L)));
+        TaskSearchIndex retried = new TaskSearchIndex(taskRepository, mock(PlatformTransactionManager.class),
+                                                      new TaskSearchProperties());
+
+        assertThat(retried.loadFromDatabase()).isFalse();
+        assertThat(retried.isReady()).isFalse();
+
+        assertThat(retried.loadFromDatabase()).isTrue();
+        assertThat(retried.search("hearing", 0, 10).total()).isEqualTo(1);
+    }
+
+    @Test
+    void retryDelay_DoublesUpToTheRebuildInterval() {
+        Duration max = Duration.ofSeconds(30);
+
+        assertThat(TaskSearchIndex.retryDelay(1, max)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(TaskSearchIndex.retryDelay(3, max)).isEqualTo(Duration.ofSeconds(4));
+        assertThat(TaskSearchIndex.retryDelay(10, max)).isEqualTo(max);
+        assertThat(TaskSearchIndex.retryDelay(1000, max)).isEqualTo(max);
+    }
+
+    @Test
+    void load_Rebuild_PicksUpOtherInstancesWritesAndKeepsServingMeanwhile() {
+        List<Long> hitsDuringRebuild = new ArrayList<>();
+
+        index.load(Stream.of(
+            task(1L, "Prepare hearing bundle", "Collect the witness statements", 0L),
+            // Written by another instance, so this one never saw an event for it
+            task(4L, "Book interpreter", "Hearing needs a Welsh interpreter", 0L)
+        ).peek(task -> {
+            hitsDuringRebuild.addAll(index.search("hearing", 0, 10).hits().stream()
+                                         .map(TaskSearchIndex.Hit::taskId).toList());
+            // Arrives mid-rebuild, after the new index has already read the task
+            index.onTaskChanged(TaskChangedEvent.deleted(1L));
+        }));
+
+        assertThat(hitsDuringRebuild).contains(2L);
+        assertThat(index.search("hearing", 0, 10).hits()).extracting(TaskSearchIndex.Hit::taskId)
+            .containsExactly(4L);
+        assertThat(index.search("interpreter", 0, 10).total()).isEqualTo(1);
+    }
+
+    @Test
+    void onTaskChanged_ManyUpdatesCompactTheIndex() {
+        for (long version = 1; version <= 5000; version++) {
+            index.onTaskChanged(TaskChangedEvent.statusChanged(task(3L, "Archive old cases", null, version)));
+        }
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.search("archive", 0, 10).hits()).extracting(TaskSearchIndex.Hit::taskId)
+            .containsExactly(3L);
+        assertThat(index.search("hearing", 0, 10).hits()).extracting(TaskSearchIndex.Hit::taskId)
+            .containsExactly(1L, 2L);
+    }
+
+    private static TaskResponseDto task(Long id, String title, String description, Long version) {
+        return TaskResponseDto.builder().id(id).title(title).description(description).version(version).build();
+    }
+}
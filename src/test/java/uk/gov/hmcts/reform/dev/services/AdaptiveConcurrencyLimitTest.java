@@ -0,0 +1,87 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long BASELINE_NANOS = 5_000_000;
+
+    private final AdaptiveConcurrencyLimit concurrencyLimit = new AdaptiveConcurrencyLimit(20, 5, 100, 2.0, 0.2);
+
+    @Test
+    void tryAcquire_RejectsOnceLimitIsInFlight() {
+        for (int i = 0; i < 20; i++) {
+            assertThat(concurrencyLimit.tryAcquire()).isTrue();
+        }
+
+        assertThat(concurrencyLimit.tryAcquire()).isFalse();
+
+        concurrencyLimit.release(BASELINE_NANOS);
+        assertThat(concurrencyLimit.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void release_SteadyLatencyUnderLoad_GrowsLimit() {
+        runFullRounds(50, BASELINE_NANOS);
+
+        assertThat(concurrencyLimit.limit()).isGreaterThan(20);
+    }
+
+    @Test
+    void release_LatencyClimbing_ShrinksLimitToMinimum() {
+        runFullRounds(20, BASELINE_NANOS);
+        int before = concurrencyLimit.limit();
+
+        runFullRounds(5, BASELINE_NANOS * 10);
+
+        assertThat(concurrencyLimit.limit()).isLessThan(before).isEqualTo(5);
+    }
+
+    @Test
+    void release_FewCallsInFlight_LeavesLimitAlone() {
+        for (int i = 0; i < 100; i++) {
+            concurrencyLimit.tryAcquire();
+            concurrencyLimit.release(i % 2 == 0 ? BASELINE_NANOS : BASELINE_NANOS * 10);
+        }
+
+        assertThat(concurrencyLimit.limit()).isEqualTo(20);
+    }
+
+    @Test
+    void release_ConcurrentReleases_KeepLimitInBoundsWithoutLocking() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    if (concurrencyLimit.tryAcquire()) {
+                        concurrencyLimit.release(BASELINE_NANOS);
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(concurrencyLimit.inFlight()).isZero();
+        assertThat(concurrencyLimit.limit()).isBetween(5, 100);
+    }
+
+    // Fills every allowed slot and then completes them all with the given latency
+    private void runFullRounds(int rounds, long rttNanos) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (concurrencyLimit.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                concurrencyLimit.release(rttNanos);
+            }
+        }
+    }
+}
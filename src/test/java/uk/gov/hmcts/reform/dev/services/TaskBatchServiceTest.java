@@ -0,0 +1,185 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import uk.gov.hmcts.reform.dev.config.TaskBatchProperties;
+import uk.gov.hmcts.reform.dev.dto.TaskBatchItemResultDto;
+import uk.gov.hmcts.reform.dev.dto.TaskBatchResultDto;
+import uk.gov.hmcts.reform.dev.dto.TaskRequestDto;
+import uk.gov.hmcts.reform.dev.dto.TaskStatusUpdateDto;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.exception.InvalidRequestException;
+import uk.gov.hmcts.reform.dev.mappers.TaskMapper;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskBatchServiceTest {
+
+    private static ValidatorFactory validatorFactory;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private TaskBatchService batchService;
+
+    @BeforeAll
+    static void setupValidator() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+    }
+
+    @AfterAll
+    static void closeValidatorFactory() {
+        validatorFactory.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        TaskBatchProperties properties = new TaskBatchProperties();
+        properties.setChunkSize(2);
+        properties.setMaxItems(5);
+        batchService = new TaskBatchService(taskRepository, Mappers.getMapper(TaskMapper.class),
+                                            validatorFactory.getValidator(), entityManager, properties,
+                                            eventPublisher);
+    }
+
+    @Test
+    void createTasks_MixedItems_SavesValidOnesInChunksAndReportsInvalid() {
+        // Arrange
+        AtomicLong ids = new AtomicLong();
+        when(taskRepository.saveAll(ArgumentMatchers.<List<Task>>any())).thenAnswer(invocation -> {
+            List<Task> chunk = invocation.getArgument(0);
+            chunk.forEach(task -> task.setId(ids.incrementAndGet()));
+            return List.copyOf(chunk);
+        });
+        List<TaskRequestDto> requests = List.of(
+            request("First"), request(null), request("Second"), request("Third")
+        );
+
+        // Act
+        TaskBatchResultDto result = batchService.createTasks(requests);
+
+        // Assert
+        assertThat(result.getSucceeded()).isEqualTo(3);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getResults().get(0).getStatus()).isEqualTo(201);
+        assertThat(result.getResults().get(1).getStatus()).isEqualTo(400);
+        assertThat(result.getResults().get(1).getErrors()).containsExactly("Title must not be null");
+        assertThat(result.getResults().get(3).getTask().getTitle()).isEqualTo("Third");
+        verify(taskRepository, times(2)).saveAll(ArgumentMatchers.<List<Task>>any());
+        verify(entityManager, times(2)).flush();
+    }
+
+    @Test
+    void updateStatuses_UnknownId_ReportsNotFound() {
+        // Arrange
+        Task task = new Task(1L, "Task", null, TaskStatus.OPEN, LocalDateTime.now(), null, 0L, null, null);
+        when(taskRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(task));
+
+        // Act
+        TaskBatchResultDto result = batchService.updateStatuses(List.of(
+            new TaskStatusUpdateDto(1L, TaskStatus.COMPLETED), new TaskStatusUpdateDto(2L, TaskStatus.COMPLETED)
+        ));
+
+        // Assert
+        assertThat(result.getResults().get(0).getTask().getStatus()).isEqualTo(TaskStatus.COMPLETED);
+        assertThat(result.getResults().get(1).getStatus()).isEqualTo(404);
+    }
+
+    @Test
+    void deleteTasks_OnlyExistingIdsAreDeleted() {
+        // Arrange
+        when(taskRepository.findExistingIds(Set.of(1L, 2L))).thenReturn(List.of(1L));
+
+        // Act
+        TaskBatchResultDto result = batchService.deleteTasks(List.of(1L, 2L));
+
+        // Assert
+        verify(taskRepository).deleteTasksById(Set.of(1L));
+        ArgumentCaptor<TaskChangedEvent> event = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getType()).isEqualTo(TaskChangedEvent.Type.DELETED);
+        assertThat(event.getValue().getTaskId()).isEqualTo(1L);
+        assertThat(result.getResults().get(0).getStatus()).isEqualTo(204);
+        assertThat(result.getResults().get(1).getStatus()).isEqualTo(404);
+    }
+
+    @Test
+    void deleteTasks_RepeatedId_IsDeletedAndPublishedOnce() {
+        // Arrange: chunks of two, so the third item repeats an id from the first chunk
+        when(taskRepository.findExistingIds(Set.of(1L))).thenReturn(List.of(1L));
+
+        // Act
+        TaskBatchResultDto result = batchService.deleteTasks(List.of(1L, 1L, 1L));
+
+        // Assert
+        verify(taskRepository).deleteTasksById(Set.of(1L));
+        verify(eventPublisher, times(1)).publishEvent(ArgumentMatchers.any(TaskChangedEvent.class));
+        assertThat(result.getResults()).extracting(TaskBatchItemResultDto::getStatus).containsExactly(204, 400, 400);
+        assertThat(result.getResults().get(2).getErrors()).containsExactly("ID appears earlier in the batch");
+    }
+
+    @Test
+    void updateStatuses_RepeatedId_IsUpdatedAndPublishedOnce() {
+        // Arrange
+        Task task = new Task(1L, "Task", null, TaskStatus.OPEN, LocalDateTime.now(), null, 0L, null, null);
+        when(taskRepository.findAllById(Set.of(1L))).thenReturn(List.of(task));
+
+        // Act
+        TaskBatchResultDto result = batchService.updateStatuses(List.of(
+            new TaskStatusUpdateDto(1L, TaskStatus.IN_PROGRESS), new TaskStatusUpdateDto(1L, TaskStatus.COMPLETED)
+        ));
+
+        // Assert
+        verify(eventPublisher, times(1)).publishEvent(ArgumentMatchers.any(TaskChangedEvent.class));
+        assertThat(result.getResults().get(0).getTask().getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+        assertThat(result.getResults().get(1).getStatus()).isEqualTo(400);
+    }
+
+    @Test
+    void createTasks_TooManyItems_ThrowsInvalidRequestException() {
+        List<TaskRequestDto> requests = Collections.nCopies(6, request("Valid title"));
+
+        assertThatThrownBy(() -> batchService.createTasks(requests))
+            .isInstanceOf(InvalidRequestException.class);
+    }
+
+    private static TaskRequestDto request(String title) {
+        return TaskRequestDto.builder()
+            .title(title)
+            .status(TaskStatus.OPEN)
+            .dueDate(LocalDateTime.now().plusDays(1))
+            .build();
+    }
+}
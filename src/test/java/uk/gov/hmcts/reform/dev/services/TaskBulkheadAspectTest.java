@@ -0,0 +1,78 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.config.TaskBulkheadProperties;
+import uk.gov.hmcts.reform.dev.exception.ServiceOverloadedException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskBulkheadAspectTest {
+
+    private TaskBulkheadAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        TaskBulkheadProperties properties = new TaskBulkheadProperties();
+        properties.setMaxConcurrentCalls(1);
+        properties.setMaxWait(Duration.ofMillis(20));
+        aspect = new TaskBulkheadAspect(properties);
+    }
+
+    @Test
+    void limit_PermitAvailable_ProceedsAndReleases() throws Throwable {
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.proceed()).thenReturn("result");
+
+        assertThat(aspect.limit(joinPoint)).isEqualTo("result");
+        assertThat(aspect.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void limit_NestedCall_ReusesTheOuterPermit() throws Throwable {
+        ProceedingJoinPoint inner = mock(ProceedingJoinPoint.class);
+        when(inner.proceed()).thenReturn("inner");
+        ProceedingJoinPoint outer = mock(ProceedingJoinPoint.class);
+        when(outer.proceed()).thenAnswer(invocation -> aspect.limit(inner));
+
+        // With one permit, a nested call that waited for its own would time out
+        assertThat(aspect.limit(outer)).isEqualTo("inner");
+        assertThat(aspect.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void limit_AllPermitsHeld_ThrowsServiceOverloadedException() throws Throwable {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProceedingJoinPoint slowCall = mock(ProceedingJoinPoint.class);
+        when(slowCall.proceed()).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await();
+            return null;
+        });
+        CompletableFuture<Object> inFlight = CompletableFuture.supplyAsync(() -> {
+            try {
+                return aspect.limit(slowCall);
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> aspect.limit(mock(ProceedingJoinPoint.class)))
+            .isInstanceOf(ServiceOverloadedException.class);
+
+        release.countDown();
+        inFlight.get(5, TimeUnit.SECONDS);
+        assertThat(aspect.availablePermits()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,50 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.dev.dto.TaskResponseDto;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskExportServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Test
+    void exportTasks_WritesOneJsonObjectPerLine() throws Exception {
+        // Arrange
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        TaskExportService exportService = new TaskExportService(taskRepository, objectMapper);
+        when(taskRepository.streamAllForExport()).thenReturn(Stream.of(
+            new TaskResponseDto(1L, "First", null, TaskStatus.OPEN, LocalDateTime.of(2030, 1, 1, 9, 0), 0L),
+            new TaskResponseDto(2L, "Second", "Desc", TaskStatus.COMPLETED, null, 0L)
+        ));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = exportService.exportTasks(out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[0], TaskResponseDto.class).getTitle()).isEqualTo("First");
+        assertThat(objectMapper.readValue(lines[1], TaskResponseDto.class).getStatus()).isEqualTo(TaskStatus.COMPLETED);
+        assertThat(out.toString(StandardCharsets.UTF_8)).endsWith("}\n");
+    }
+}
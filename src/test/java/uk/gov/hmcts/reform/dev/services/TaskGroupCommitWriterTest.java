@@ -0,0 +1,221 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import uk.gov.hmcts.reform.dev.config.TaskBatchProperties;
+import uk.gov.hmcts.reform.dev.config.TaskGroupCommitProperties;
+import uk.gov.hmcts.reform.dev.dto.TaskBatchItemResultDto;
+import uk.gov.hmcts.reform.dev.dto.TaskBatchResultDto;
+import uk.gov.hmcts.reform.dev.dto.TaskRequestDto;
+import uk.gov.hmcts.reform.dev.dto.TaskResponseDto;
+import uk.gov.hmcts.reform.dev.exception.InvalidRequestException;
+import uk.gov.hmcts.reform.dev.exception.ServiceOverloadedException;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskGroupCommitWriterTest {
+
+    private final TaskBatchService taskBatchService = mock(TaskBatchService.class);
+    private final TaskService taskService = mock(TaskService.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong ids = new AtomicLong();
+    private TaskGroupCommitWriter writer;
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void create_FullGroupIsCommittedWithoutWaitingForTheDelay() throws Exception {
+        when(taskBatchService.createTasks(anyList())).thenAnswer(invocation -> created(invocation.getArgument(0)));
+        writer = started(3, Duration.ofSeconds(30));
+
+        List<CompletableFuture<TaskResponseDto>> results = createConcurrently("A", "B", "C");
+
+        for (CompletableFuture<TaskResponseDto> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS).getId()).isNotNull();
+        }
+        assertThat(results.stream().map(CompletableFuture::join).map(TaskResponseDto::getTitle))
+            .containsExactlyInAnyOrder("A", "B", "C");
+        verify(taskBatchService, times(1)).createTasks(anyList());
+        verify(taskService, never()).createTask(any());
+    }
+
+    @Test
+    void create_LoneRequestIsCommittedOnceTheDelayIsUp() {
+        when(taskBatchService.createTasks(anyList())).thenAnswer(invocation -> created(invocation.getArgument(0)));
+        writer = started(100, Duration.ofMillis(20));
+
+        TaskResponseDto created = writer.create(request("A"));
+
+        assertThat(created.getTitle()).isEqualTo("A");
+        assertThat(meterRegistry.summary("tasks.groupcommit.group.size").count()).isEqualTo(1);
+    }
+
+    @Test
+    void create_FailedGroupIsRetriedOneAtATime() throws Exception {
+        when(taskBatchService.createTasks(anyList())).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(taskService.createTask(any())).thenAnswer(invocation -> {
+            TaskRequestDto request = invocation.getArgument(0);
+            if ("bad".equals(request.getTitle())) {
+                throw new DataIntegrityViolationException("duplicate");
+            }
+            return response(request);
+        });
+        writer = started(2, Duration.ofSeconds(30));
+
+        List<CompletableFuture<TaskResponseDto>> results = createConcurrently("good", "bad");
+
+        assertThat(results.get(0).get(5, TimeUnit.SECONDS).getTitle()).isEqualTo("good");
+        assertThatThrownBy(() -> results.get(1).get(5, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(DataIntegrityViolationException.class);
+        assertThat(meterRegistry.counter("tasks.groupcommit.fallbacks", "reason", "group_failed").count())
+            .isEqualTo(2);
+    }
+
+    @Test
+    void create_InvalidItemFailsOnlyItsOwnRequest() throws Exception {
+        when(taskBatchService.createTasks(anyList())).thenAnswer(invocation -> {
+            List<TaskRequestDto> requests = invocation.getArgument(0);
+            List<TaskBatchItemResultDto> items = new ArrayList<>();
+            for (int i = 0; i < requests.size(); i++) {
+                items.add("bad".equals(requests.get(i).getTitle())
+                              ? TaskBatchItemResultDto.builder().index(i).status(400)
+                                  .errors(List.of("Title must not be blank")).build()
+                              : TaskBatchItemResultDto.builder().index(i).status(201).errors(List.of())
+                                  .task(response(requests.get(i))).build());
+            }
+            return TaskBatchResultDto.builder().results(items).build();
+        });
+        writer = started(2, Duration.ofSeconds(30));
+
+        List<CompletableFuture<TaskResponseDto>> results = createConcurrently("good", "bad");
+
+        assertThat(results.get(0).get(5, TimeUnit.SECONDS).getTitle()).isEqualTo("good");
+        assertThatThrownBy(() -> results.get(1).get(5, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void create_WhenNotRunning_WritesItsOwnTransaction() {
+        when(taskService.createTask(any())).thenAnswer(invocation -> response(invocation.getArgument(0)));
+        writer = new TaskGroupCommitWriter(taskBatchService, taskService, properties(10, Duration.ofMillis(2)),
+                                           new TaskBatchProperties(), meterRegistry);
+
+        assertThat(writer.create(request("A")).getTitle()).isEqualTo("A");
+        verify(taskBatchService, never()).createTasks(anyList());
+        assertThat(meterRegistry.counter("tasks.groupcommit.fallbacks", "reason", "queue_full").count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void create_TimedOutWhileQueued_IsTakenOffTheQueueAndNotWritten() throws Exception {
+        CountDownLatch committing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(taskBatchService.createTasks(anyList())).thenAnswer(invocation -> {
+            committing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return created(invocation.getArgument(0));
+        });
+        TaskGroupCommitProperties properties = properties(1, Duration.ofMillis(1));
+        properties.setAwaitTimeout(Duration.ofMillis(500));
+        writer = started(properties);
+        CompletableFuture<TaskResponseDto> writing = CompletableFuture.supplyAsync(() -> writer.create(request("A")));
+        assertThat(committing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // The writer is stuck on A's group, so B is still queued when it gives up
+        assertThatThrownBy(() -> writer.create(request("B")))
+            .isInstanceOf(ServiceOverloadedException.class)
+            .hasMessageContaining("it was not created");
+        release.countDown();
+
+        // A was already being written, so it waited on for its group rather than giving up
+        assertThat(writing.get(5, TimeUnit.SECONDS).getTitle()).isEqualTo("A");
+        ArgumentCaptor<List<TaskRequestDto>> groups = ArgumentCaptor.captor();
+        verify(taskBatchService, times(1)).createTasks(groups.capture());
+        assertThat(groups.getValue()).extracting(TaskRequestDto::getTitle).containsExactly("A");
+    }
+
+    @Test
+    void constructor_MaxBatchSizeOverBatchLimit_IsRejected() {
+        TaskBatchProperties batchProperties = new TaskBatchProperties();
+        batchProperties.setMaxItems(100);
+
+        assertThatThrownBy(() -> new TaskGroupCommitWriter(taskBatchService, taskService,
+                                                           properties(101, Duration.ofMillis(2)), batchProperties,
+                                                           meterRegistry))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("tasks.batch.max-items");
+    }
+
+    private TaskGroupCommitWriter started(int maxBatchSize, Duration maxDelay) {
+        return started(properties(maxBatchSize, maxDelay));
+    }
+
+    private TaskGroupCommitWriter started(TaskGroupCommitProperties properties) {
+        TaskGroupCommitWriter started = new TaskGroupCommitWriter(
+            taskBatchService, taskService, properties, new TaskBatchProperties(), meterRegistry);
+        started.start();
+        return started;
+    }
+
+    private List<CompletableFuture<TaskResponseDto>> createConcurrently(String... titles) {
+        List<CompletableFuture<TaskResponseDto>> results = new ArrayList<>();
+        for (String title : titles) {
+            results.add(CompletableFuture.supplyAsync(() -> writer.create(request(title))));
+        }
+        return results;
+    }
+
+    private TaskBatchResultDto created(List<TaskRequestDto> requests) {
+        List<TaskBatchItemResultDto> items = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            TaskResponseDto task = response(requests.get(i));
+            items.add(TaskBatchItemResultDto.builder().index(i).id(task.getId()).status(201).errors(List.of())
+                          .task(task).build());
+        }
+        return TaskBatchResultDto.builder().succeeded(items.size()).results(items).build();
+    }
+
+    private TaskResponseDto response(TaskRequestDto request) {
+        return TaskResponseDto.builder().id(ids.incrementAndGet()).title(request.getTitle())
+            .status(request.getStatus()).version(0L).build();
+    }
+
+    private static TaskRequestDto request(String title) {
+        return TaskRequestDto.builder().title(title).status(TaskStatus.OPEN).build();
+    }
+
+    private static TaskGroupCommitProperties properties(int maxBatchSize, Duration maxDelay) {
+        TaskGroupCommitProperties properties = new TaskGroupCommitProperties();
+        properties.setEnabled(true);
+        properties.setMaxBatchSize(maxBatchSize);
+        properties.setMaxDelay(maxDelay);
+        properties.setAwaitTimeout(Duration.ofSeconds(5));
+        return properties;
+    }
+}
@@ -0,0 +1,42 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.exception.InvalidRequestException;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskPageCursorTest {
+
+    @Test
+    void encodeDecode_DueDateCursor_RoundTrips() {
+        LocalDateTime dueDate = LocalDateTime.of(2030, 5, 1, 9, 30, 15, 123_000_000);
+        Task task = new Task(42L, "Title", null, TaskStatus.OPEN, LocalDateTime.now(), dueDate, 0L, null, null);
+
+        TaskPageCursor decoded = TaskPageCursor.decode(
+            TaskPageCursor.after(TaskSort.DUE_DATE, task).encode(), TaskSort.DUE_DATE);
+
+        assertThat(decoded.getId()).isEqualTo(42L);
+        assertThat(decoded.getDueDate()).isEqualTo(dueDate);
+    }
+
+    @Test
+    void decode_CursorForDifferentSort_ThrowsInvalidRequestException() {
+        Task task = new Task(42L, "Title", null, TaskStatus.OPEN, LocalDateTime.now(), null, 0L, null, null);
+        String token = TaskPageCursor.after(TaskSort.ID, task).encode();
+
+        assertThatThrownBy(() -> TaskPageCursor.decode(token, TaskSort.DUE_DATE))
+            .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void decode_Garbage_ThrowsInvalidRequestException() {
+        assertThatThrownBy(() -> TaskPageCursor.decode("not a cursor!", TaskSort.ID))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessage("Invalid cursor");
+    }
+}
@@ -0,0 +1,138 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import uk.gov.hmcts.reform.dev.config.ReadReplicaProperties;
+import uk.gov.hmcts.reform.dev.config.TaskCacheConfig;
+import uk.gov.hmcts.reform.dev.config.TaskCacheProperties;
+import uk.gov.hmcts.reform.dev.config.TaskPaginationProperties;
+import uk.gov.hmcts.reform.dev.dto.TaskRequestDto;
+import uk.gov.hmcts.reform.dev.mappers.TaskMapperImpl;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringJUnitConfig(TaskServiceCachingTest.Config.class)
+class TaskServiceCachingTest {
+
+    @Configuration
+    @EnableAspectJAutoProxy
+    @Import({TaskService.class, TaskMapperImpl.class, TaskCacheConfig.class})
+    @EnableConfigurationProperties({TaskCacheProperties.class, TaskPaginationProperties.class,
+        ReadReplicaProperties.class})
+    static class Config {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        AdaptiveConcurrencyLimit concurrencyLimit() {
+            return spy(new AdaptiveConcurrencyLimit(20, 5, 200, 2.0, 0.2));
+        }
+
+        @Bean
+        TaskConcurrencyLimitAspect concurrencyLimitAspect(AdaptiveConcurrencyLimit concurrencyLimit,
+                                                          MeterRegistry meterRegistry) {
+            return new TaskConcurrencyLimitAspect(concurrencyLimit, meterRegistry);
+        }
+    }
+
+    @MockitoBean
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private AdaptiveConcurrencyLimit concurrencyLimit;
+
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(TaskCacheConfig.TASKS_CACHE).clear();
+        task = new Task(1L, "Cached Task", "Description", TaskStatus.OPEN, LocalDateTime.now(), null, 0L, null, null);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+    }
+
+    @Test
+    void getTaskById_RepeatedReads_HitDatabaseOnce() {
+        taskService.getTaskById(1L);
+        taskService.getTaskById(1L);
+
+        verify(taskRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getTaskById_CacheHits_AreNotSeenByTheConcurrencyLimit() {
+        clearInvocations(concurrencyLimit);
+
+        taskService.getTaskById(1L);
+        taskService.getTaskById(1L);
+        taskService.getTaskById(1L);
+
+        // Only the miss went to the database, so only its latency feeds the limit
+        verify(concurrencyLimit, times(1)).tryAcquire();
+        verify(concurrencyLimit, times(1)).release(anyLong());
+    }
+
+    @Test
+    void updateTaskStatus_EvictsEntry_NextReadSeesNewStatus() {
+        when(taskRepository.updateStatus(1L, TaskStatus.COMPLETED)).thenAnswer(invocation -> {
+            task.setStatus(TaskStatus.COMPLETED);
+            return 1;
+        });
+        taskService.getTaskById(1L);
+
+        taskService.updateTaskStatus(1L, TaskStatus.COMPLETED, null);
+
+        assertThat(taskService.getTaskById(1L).getStatus()).isEqualTo(TaskStatus.COMPLETED);
+    }
+
+    @Test
+    void updateTask_EvictsEntry_NextReadSeesNewTitle() {
+        when(taskRepository.saveAndFlush(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        taskService.getTaskById(1L);
+
+        taskService.updateTask(1L, TaskRequestDto.builder().title("Renamed Task").build(), null);
+
+        assertThat(taskService.getTaskById(1L).getTitle()).isEqualTo("Renamed Task");
+    }
+
+    @Test
+    void deleteTask_EvictsEntry() {
+        when(taskRepository.deleteTaskById(1L)).thenReturn(1);
+        taskService.getTaskById(1L);
+
+        taskService.deleteTask(1L);
+
+        assertThat(cacheManager.getCache(TaskCacheConfig.TASKS_CACHE).get(1L)).isNull();
+    }
+}
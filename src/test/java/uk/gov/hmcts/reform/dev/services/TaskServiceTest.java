@@ -1,15 +1,29 @@
 package uk.gov.hmcts.reform.dev.services;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import uk.gov.hmcts.reform.dev.config.TaskPaginationProperties;
+import uk.gov.hmcts.reform.dev.dto.TaskFilterDto;
+import uk.gov.hmcts.reform.dev.dto.TaskPageDto;
 import uk.gov.hmcts.reform.dev.dto.TaskRequestDto;
 import uk.gov.hmcts.reform.dev.dto.TaskResponseDto;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.exception.InvalidRequestException;
+import uk.gov.hmcts.reform.dev.exception.PreconditionFailedException;
 import uk.gov.hmcts.reform.dev.exception.ResourceNotFoundException;
+import uk.gov.hmcts.reform.dev.mappers.TaskMapper;
 import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
 import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
 
 import java.time.LocalDateTime;
@@ -24,8 +38,11 @@ class TaskServiceTest {
     @Mock
     private TaskRepository taskRepository;
 
-    @InjectMocks
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private TaskService taskService;
+    private SimpleMeterRegistry meterRegistry;
 
     private TaskResponseDto taskResponseDto;
     private TaskRequestDto taskRequestDto;
@@ -33,10 +50,17 @@ class TaskServiceTest {
 
     @BeforeEach
     void setUp() {
+        TaskPaginationProperties paginationProperties = new TaskPaginationProperties();
+        paginationProperties.setDefaultPageSize(2);
+        paginationProperties.setMaxPageSize(3);
+        meterRegistry = new SimpleMeterRegistry();
+        taskService = new TaskService(
+            taskRepository, Mappers.getMapper(TaskMapper.class), paginationProperties, meterRegistry, eventPublisher);
+
         taskResponseDto = TaskResponseDto.builder()
             .title("Test Task")
             .description("Test Description")
-            .status("OPEN")
+            .status(TaskStatus.OPEN)
             .dueDate(LocalDateTime.now().plusDays(1))
             .build();
 
@@ -44,14 +68,17 @@ class TaskServiceTest {
             1L,
             "Test Task",
             "Test Description",
-            "OPEN",
+            TaskStatus.OPEN,
             LocalDateTime.now(),
-            LocalDateTime.now().plusDays(1)
+            LocalDateTime.now().plusDays(1),
+            0L,
+            null,
+            null
         );
         taskRequestDto = TaskRequestDto.builder()
             .title("Test Task")
             .description("Test Description")
-            .status("OPEN")
+            .status(TaskStatus.OPEN)
             .dueDate(LocalDateTime.now().plusDays(1))
             .build();
 
@@ -76,18 +103,55 @@ class TaskServiceTest {
     }
 
     @Test
-    void getAllTasks_WhenTasksExist_ReturnsDtoList() {
+    void createTask_PublishesCreatedEvent() {
+        when(taskRepository.save(any(Task.class))).thenReturn(task);
+
+        taskService.createTask(taskRequestDto);
+
+        ArgumentCaptor<TaskChangedEvent> event = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getType()).isEqualTo(TaskChangedEvent.Type.CREATED);
+        assertThat(event.getValue().getTaskId()).isEqualTo(1L);
+        assertThat(event.getValue().getTask().getTitle()).isEqualTo("Test Task");
+    }
+
+    @Test
+    void getTasks_WhenTasksExist_ReturnsPageWithoutCursor() {
         // Arrange
-        when(taskRepository.findAll())
+        when(taskRepository.findBy(ArgumentMatchers.<Specification<Task>>any(), any()))
             .thenReturn(List.of(task));
 
         // Act
-        List<TaskResponseDto> result = taskService.getAllTasks();
+        TaskPageDto result = taskService.getTasks(new TaskFilterDto(), null, null, null);
 
         // Assert
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getTitle()).isEqualTo(task.getTitle());
-        verify(taskRepository).findAll();
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getItems().get(0).getTitle()).isEqualTo(task.getTitle());
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getTasks_MoreRowsThanPageSize_ReturnsCursorForLastItem() {
+        // Arrange
+        Task second = new Task(2L, "Second", null, TaskStatus.OPEN, LocalDateTime.now(), null, 0L, null, null);
+        Task third = new Task(3L, "Third", null, TaskStatus.OPEN, LocalDateTime.now(), null, 0L, null, null);
+        when(taskRepository.findBy(ArgumentMatchers.<Specification<Task>>any(), any()))
+            .thenReturn(List.of(task, second, third));
+
+        // Act
+        TaskPageDto result = taskService.getTasks(new TaskFilterDto(), "id", null, 2);
+
+        // Assert
+        assertThat(result.getItems()).extracting(TaskResponseDto::getId).containsExactly(1L, 2L);
+        assertThat(TaskPageCursor.decode(result.getNextCursor(), TaskSort.ID).getId()).isEqualTo(2L);
+        assertThat(meterRegistry.get("tasks.list.size").summary().totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void getTasks_UnknownSort_ThrowsInvalidRequestException() {
+        assertThatThrownBy(() -> taskService.getTasks(new TaskFilterDto(), "title", null, null))
+            .isInstanceOf(InvalidRequestException.class);
+        verifyNoInteractions(taskRepository);
     }
 
     @Test
@@ -116,14 +180,35 @@ class TaskServiceTest {
     void updateTask_ExistingId_UpdatesAndReturnsDto() {
         when(taskRepository.findById(1L))
             .thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class)))
+        when(taskRepository.saveAndFlush(any(Task.class)))
             .thenReturn(task);
 
-        TaskResponseDto result = taskService.updateTask(1L, taskRequestDto);
+        TaskResponseDto result = taskService.updateTask(1L, taskRequestDto, null);
 
         assertThat(result.getStatus()).isEqualTo(taskResponseDto.getStatus());
         verify(taskRepository).findById(1L);
-        verify(taskRepository).save(any(Task.class));
+        verify(taskRepository).saveAndFlush(any(Task.class));
+    }
+
+    @Test
+    void updateTask_StaleVersion_ThrowsOptimisticLockingFailure() {
+        when(taskRepository.findById(1L))
+            .thenReturn(Optional.of(task));
+        taskRequestDto.setVersion(5L);
+
+        assertThatThrownBy(() -> taskService.updateTask(1L, taskRequestDto, null))
+            .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        verify(taskRepository, never()).saveAndFlush(any(Task.class));
+    }
+
+    @Test
+    void updateTask_IfMatchVersionDiffers_ThrowsPreconditionFailed() {
+        when(taskRepository.findById(1L))
+            .thenReturn(Optional.of(task));
+
+        assertThatThrownBy(() -> taskService.updateTask(1L, taskRequestDto, 7L))
+            .isInstanceOf(PreconditionFailedException.class);
+        verify(taskRepository, never()).saveAndFlush(any(Task.class));
     }
 
     @Test
@@ -131,51 +216,62 @@ class TaskServiceTest {
         when(taskRepository.findById(2L))
             .thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> taskService.updateTask(2L, taskRequestDto))
+        assertThatThrownBy(() -> taskService.updateTask(2L, taskRequestDto, null))
             .isInstanceOf(ResourceNotFoundException.class);
         verify(taskRepository).findById(2L);
     }
 
     @Test
     void updateTaskStatus_ExistingId_ReturnsDtoWithNewStatus() {
+        task.setStatus(TaskStatus.COMPLETED);
+        when(taskRepository.updateStatus(1L, TaskStatus.COMPLETED)).thenReturn(1);
         when(taskRepository.findById(1L))
             .thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class)))
-            .thenReturn(task);
 
-        TaskResponseDto result = taskService.updateTaskStatus(1L, "COMPLETED");
+        TaskResponseDto result = taskService.updateTaskStatus(1L, TaskStatus.COMPLETED, null);
 
-        assertThat(result.getStatus()).isEqualTo("COMPLETED");
-        verify(taskRepository).findById(1L);
-        verify(taskRepository).save(task);
+        assertThat(result.getStatus()).isEqualTo(TaskStatus.COMPLETED);
+        verify(taskRepository).updateStatus(1L, TaskStatus.COMPLETED);
+        verify(taskRepository, never()).save(any(Task.class));
     }
 
     @Test
     void updateTaskStatus_NonExistingId_ThrowsResourceNotFoundException() {
-        when(taskRepository.findById(3L)).thenReturn(Optional.empty());
+        when(taskRepository.updateStatus(3L, TaskStatus.CANCELLED)).thenReturn(0);
 
-        assertThatThrownBy(() -> taskService.updateTaskStatus(3L, "X"))
+        assertThatThrownBy(() -> taskService.updateTaskStatus(3L, TaskStatus.CANCELLED, null))
             .isInstanceOf(ResourceNotFoundException.class);
-        verify(taskRepository).findById(3L);
+        verify(taskRepository, never()).findById(3L);
+    }
+
+    @Test
+    void updateTaskStatus_StaleExpectedVersion_ThrowsPreconditionFailed() {
+        when(taskRepository.updateStatusIfVersion(1L, TaskStatus.COMPLETED, 2L)).thenReturn(0);
+        when(taskRepository.existsById(1L)).thenReturn(true);
+
+        assertThatThrownBy(() -> taskService.updateTaskStatus(1L, TaskStatus.COMPLETED, 2L))
+            .isInstanceOf(PreconditionFailedException.class);
+        verify(taskRepository, never()).updateStatus(1L, TaskStatus.COMPLETED);
     }
 
     @Test
     void deleteTask_ExistingId_DeletesWithoutException() {
-        when(taskRepository.findById(1L))
-            .thenReturn(Optional.of(task));
+        when(taskRepository.deleteTaskById(1L)).thenReturn(1);
 
         taskService.deleteTask(1L);
 
-        verify(taskRepository).delete(task);
+        verify(taskRepository).deleteTaskById(1L);
+        verify(taskRepository, never()).findById(1L);
     }
 
     @Test
     void deleteTask_NonExistingId_ThrowsResourceNotFoundException() {
-        when(taskRepository.findById(4L)).thenReturn(Optional.empty());
+        when(taskRepository.deleteTaskById(4L)).thenReturn(0);
 
         assertThatThrownBy(() -> taskService.deleteTask(4L))
             .isInstanceOf(ResourceNotFoundException.class);
-        verify(taskRepository).findById(4L);
+        verify(taskRepository).deleteTaskById(4L);
+        verifyNoInteractions(eventPublisher);
     }
 
 }
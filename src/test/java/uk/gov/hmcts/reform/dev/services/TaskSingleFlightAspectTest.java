@@ -0,0 +1,223 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.config.TaskCoalescingProperties;
+import uk.gov.hmcts.reform.dev.datasource.ReadYourWrites;
+import uk.gov.hmcts.reform.dev.dto.TaskResponseDto;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.exception.ResourceNotFoundException;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+
+import java.lang.annotation.Annotation;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskSingleFlightAspectTest {
+
+    private static final Coalesced GET = new Coalesced() {
+        @Override
+        public String value() {
+            return "get";
+        }
+
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return Coalesced.class;
+        }
+    };
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TaskSingleFlightAspect aspect =
+        new TaskSingleFlightAspect(meterRegistry, maxWait(Duration.ofSeconds(5)));
+    private final AtomicInteger queries = new AtomicInteger();
+
+    @Test
+    void coalesce_ConcurrentIdenticalCalls_ShareOneExecution() throws Throwable {
+        CountDownLatch release = new CountDownLatch(1);
+        ProceedingJoinPoint slowRead = read(1L, () -> {
+            release.await(5, TimeUnit.SECONDS);
+            return task(1L, 0L, TaskStatus.OPEN);
+        });
+
+        CompletableFuture<Object> first = call(slowRead);
+        awaitInFlight();
+        CompletableFuture<Object> second = call(read(1L, () -> task(1L, 0L, TaskStatus.OPEN)));
+        awaitCoalesced(1);
+        release.countDown();
+
+        assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(first.get(5, TimeUnit.SECONDS));
+        assertThat(queries).hasValue(1);
+        assertThat(aspect.inFlight()).isZero();
+    }
+
+    @Test
+    void coalesce_DifferentArguments_RunSeparately() throws Throwable {
+        aspect.coalesce(read(1L, () -> task(1L, 0L, TaskStatus.OPEN)), GET);
+        aspect.coalesce(read(2L, () -> task(2L, 0L, TaskStatus.OPEN)), GET);
+
+        assertThat(queries).hasValue(2);
+    }
+
+    @Test
+    void coalesce_FailureIsSharedWithWaiters() throws Throwable {
+        CountDownLatch release = new CountDownLatch(1);
+        ProceedingJoinPoint failingRead = read(9L, () -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new ResourceNotFoundException("Task not found");
+        });
+
+        CompletableFuture<Object> first = call(failingRead);
+        awaitInFlight();
+        CompletableFuture<Object> second = call(failingRead);
+        awaitCoalesced(1);
+        release.countDown();
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(ResourceNotFoundException.class);
+        assertThat(queries).hasValue(1);
+    }
+
+    @Test
+    void coalesce_ReadAfterCommittedWrite_DoesNotJoinEarlierQuery() throws Throwable {
+        CountDownLatch release = new CountDownLatch(1);
+        // Started before the write, so it returns the old status
+        ProceedingJoinPoint staleRead = read(1L, () -> {
+            release.await(5, TimeUnit.SECONDS);
+            return task(1L, 0L, TaskStatus.OPEN);
+        });
+        CompletableFuture<Object> before = call(staleRead);
+        awaitInFlight();
+
+        aspect.onTaskChanged(TaskChangedEvent.statusChanged(task(1L, 1L, TaskStatus.COMPLETED)));
+        Object after = aspect.coalesce(read(1L, () -> task(1L, 1L, TaskStatus.COMPLETED)), GET);
+        release.countDown();
+
+        assertThat(((TaskResponseDto) after).getStatus()).isEqualTo(TaskStatus.COMPLETED);
+        assertThat(((TaskResponseDto) before.get(5, TimeUnit.SECONDS)).getStatus()).isEqualTo(TaskStatus.OPEN);
+        assertThat(queries).hasValue(2);
+        // The stale flight finishing must not remove anything registered after the write
+        assertThat(aspect.inFlight()).isZero();
+    }
+
+    @Test
+    void coalesce_PinnedCall_DoesNotJoinUnpinnedQuery() throws Throwable {
+        CountDownLatch release = new CountDownLatch(1);
+        // May be reading a lagging replica
+        ProceedingJoinPoint replicaRead = read(1L, () -> {
+            release.await(5, TimeUnit.SECONDS);
+            return task(1L, 0L, TaskStatus.OPEN);
+        });
+        CompletableFuture<Object> unpinned = call(replicaRead);
+        awaitInFlight();
+
+        AtomicReference<Object> pinned = new AtomicReference<>();
+        ProceedingJoinPoint primaryRead = read(1L, () -> task(1L, 1L, TaskStatus.COMPLETED));
+        ReadYourWrites.runOnPrimary(() -> pinned.set(coalesceUnchecked(primaryRead)));
+        release.countDown();
+
+        assertThat(((TaskResponseDto) pinned.get()).getStatus()).isEqualTo(TaskStatus.COMPLETED);
+        assertThat(((TaskResponseDto) unpinned.get(5, TimeUnit.SECONDS)).getStatus()).isEqualTo(TaskStatus.OPEN);
+        assertThat(queries).hasValue(2);
+    }
+
+    @Test
+    void coalesce_RunningCallTooSlow_WaiterRunsItsOwnQuery() throws Throwable {
+        TaskSingleFlightAspect impatient = new TaskSingleFlightAspect(meterRegistry, maxWait(Duration.ofMillis(50)));
+        CountDownLatch release = new CountDownLatch(1);
+        ProceedingJoinPoint stuckRead = read(1L, () -> {
+            release.await(5, TimeUnit.SECONDS);
+            return task(1L, 0L, TaskStatus.OPEN);
+        });
+        CompletableFuture<Object> stuck = CompletableFuture.supplyAsync(() -> {
+            try {
+                return impatient.coalesce(stuckRead, GET);
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        for (int i = 0; i < 500 && queries.get() == 0; i++) {
+            Thread.sleep(10);
+        }
+
+        Object waited = impatient.coalesce(read(1L, () -> task(1L, 0L, TaskStatus.OPEN)), GET);
+        release.countDown();
+
+        assertThat(waited).isNotSameAs(stuck.get(5, TimeUnit.SECONDS));
+        assertThat(queries).hasValue(2);
+        assertThat(meterRegistry.counter("tasks.coalescing.calls", "operation", "get", "result", "timed_out").count())
+            .isEqualTo(1);
+    }
+
+    private ProceedingJoinPoint read(Long id, Query query) throws Throwable {
+        Signature signature = mock(Signature.class);
+        when(signature.toLongString()).thenReturn("TaskService.getTaskById(Long)");
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getArgs()).thenReturn(new Object[] {id});
+        when(joinPoint.proceed()).thenAnswer(invocation -> {
+            queries.incrementAndGet();
+            return query.run();
+        });
+        return joinPoint;
+    }
+
+    private CompletableFuture<Object> call(ProceedingJoinPoint joinPoint) {
+        return CompletableFuture.supplyAsync(() -> coalesceUnchecked(joinPoint));
+    }
+
+    private Object coalesceUnchecked(ProceedingJoinPoint joinPoint) {
+        try {
+            return aspect.coalesce(joinPoint, GET);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static TaskCoalescingProperties maxWait(Duration maxWait) {
+        TaskCoalescingProperties properties = new TaskCoalescingProperties();
+        properties.setMaxWait(maxWait);
+        return properties;
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        for (int i = 0; i < 500 && (aspect.inFlight() == 0 || queries.get() == 0); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(aspect.inFlight()).isEqualTo(1);
+    }
+
+    private void awaitCoalesced(int expected) throws InterruptedException {
+        for (int i = 0; i < 500 && coalesced() < expected; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(coalesced()).isEqualTo(expected);
+    }
+
+    private double coalesced() {
+        return meterRegistry.counter("tasks.coalescing.calls", "operation", "get", "result", "coalesced").count();
+    }
+
+    private static TaskResponseDto task(Long id, Long version, TaskStatus status) {
+        return TaskResponseDto.builder().id(id).title("Task " + id).status(status).version(version).build();
+    }
+
+    @FunctionalInterface
+    private interface Query {
+        Object run() throws Exception;
+    }
+}
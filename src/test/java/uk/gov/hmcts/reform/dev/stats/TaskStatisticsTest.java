@@ -0,0 +1,190 @@
+package uk.gov.hmcts.reform.dev.stats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import uk.gov.hmcts.reform.dev.config.TaskStatsProperties;
+import uk.gov.hmcts.reform.dev.datasource.ReadYourWrites;
+import uk.gov.hmcts.reform.dev.dto.TaskResponseDto;
+import uk.gov.hmcts.reform.dev.dto.TaskStatsDto;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.exception.ServiceOverloadedException;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+import uk.gov.hmcts.reform.dev.repositories.TaskStateRow;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskStatisticsTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 2, 12, 0);
+
+    private final MutableClock clock = new MutableClock(NOW.toInstant(ZoneOffset.UTC));
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TaskStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new TaskStatistics(mock(TaskRepository.class), mock(PlatformTransactionManager.class),
+                                        new TaskStatsProperties(), meterRegistry, clock);
+    }
+
+    @Test
+    void snapshot_BeforeFirstLoad_IsUnavailable() {
+        assertThatThrownBy(() -> statistics.snapshot()).isInstanceOf(ServiceOverloadedException.class);
+    }
+
+    @Test
+    void snapshot_AfterRebuild_CountsByStatusAndDueDate() {
+        statistics.rebuild(Stream.of(
+            new TaskStateRow(1L, TaskStatus.OPEN, NOW.minusDays(2), 0L),
+            new TaskStateRow(2L, TaskStatus.IN_PROGRESS, NOW.plusHours(3), 0L),
+            new TaskStateRow(3L, TaskStatus.COMPLETED, NOW.minusDays(1), 0L),
+            new TaskStateRow(4L, TaskStatus.OPEN, null, 0L)
+        ));
+
+        TaskStatsDto stats = statistics.snapshot();
+
+        assertThat(stats.getTotal()).isEqualTo(4);
+        assertThat(stats.getByStatus())
+            .containsEntry(TaskStatus.OPEN, 2L)
+            .containsEntry(TaskStatus.IN_PROGRESS, 1L)
+            .containsEntry(TaskStatus.COMPLETED, 1L)
+            .containsEntry(TaskStatus.PENDING, 0L);
+        // The completed task is past its due date but is not overdue
+        assertThat(stats.getOverdue()).isEqualTo(1);
+        assertThat(stats.getDueToday()).isEqualTo(1);
+    }
+
+    @Test
+    void onTaskChanged_AppliesDeltas() {
+        statistics.rebuild(Stream.of(new TaskStateRow(1L, TaskStatus.OPEN, NOW.minusDays(2), 0L)));
+
+        statistics.onTaskChanged(TaskChangedEvent.created(task(2L, TaskStatus.PENDING, NOW.plusHours(1), 0L)));
+        statistics.onTaskChanged(TaskChangedEvent.statusChanged(task(1L, TaskStatus.COMPLETED, NOW.minusDays(2), 1L)));
+        TaskStatsDto stats = statistics.snapshot();
+
+        assertThat(stats.getTotal()).isEqualTo(2);
+        assertThat(stats.getByStatus()).containsEntry(TaskStatus.OPEN, 0L).containsEntry(TaskStatus.COMPLETED, 1L);
+        assertThat(stats.getOverdue()).isZero();
+        assertThat(stats.getDueToday()).isEqualTo(1);
+
+        statistics.onTaskChanged(TaskChangedEvent.deleted(2L));
+
+        assertThat(statistics.snapshot().getTotal()).isEqualTo(1);
+        assertThat(statistics.snapshot().getDueToday()).isZero();
+    }
+
+    @Test
+    void onTaskChanged_OlderVersion_IsIgnored() {
+        statistics.rebuild(Stream.of(new TaskStateRow(1L, TaskStatus.COMPLETED, null, 2L)));
+
+        statistics.onTaskChanged(TaskChangedEvent.statusChanged(task(1L, TaskStatus.OPEN, null, 1L)));
+
+        assertThat(statistics.snapshot().getByStatus()).containsEntry(TaskStatus.COMPLETED, 1L);
+    }
+
+    @Test
+    void snapshot_AsTimePasses_MovesTasksIntoOverdueAndToday() {
+        statistics.rebuild(Stream.of(
+            new TaskStateRow(1L, TaskStatus.OPEN, NOW.plusHours(1), 0L),
+            new TaskStateRow(2L, TaskStatus.OPEN, NOW.plusDays(1), 0L)
+        ));
+        assertThat(statistics.snapshot().getOverdue()).isZero();
+
+        clock.advance(Duration.ofHours(2));
+        TaskStatsDto later = statistics.snapshot();
+        assertThat(later.getOverdue()).isEqualTo(1);
+        assertThat(later.getDueToday()).isEqualTo(1);
+
+        clock.advance(Duration.ofDays(1));
+        TaskStatsDto tomorrow = statistics.snapshot();
+        assertThat(tomorrow.getOverdue()).isEqualTo(2);
+        assertThat(tomorrow.getDueToday()).isEqualTo(1);
+    }
+
+    @Test
+    void rebuild_CorrectsDriftAndRecordsIt() {
+        statistics.rebuild(Stream.of(new TaskStateRow(1L, TaskStatus.OPEN, null, 0L)));
+
+        // Another instance completed task 1 and created task 2
+        statistics.rebuild(Stream.of(
+            new TaskStateRow(1L, TaskStatus.COMPLETED, null, 1L),
+            new TaskStateRow(2L, TaskStatus.OPEN, null, 0L)
+        ));
+
+        TaskStatsDto stats = statistics.snapshot();
+        assertThat(stats.getTotal()).isEqualTo(2);
+        assertThat(stats.getByStatus()).containsEntry(TaskStatus.OPEN, 1L).containsEntry(TaskStatus.COMPLETED, 1L);
+        assertThat(meterRegistry.counter("tasks.stats.drift").count()).isEqualTo(1);
+    }
+
+    @Test
+    void reconcile_ReadsFromThePrimary() {
+        TaskRepository taskRepository = mock(TaskRepository.class);
+        AtomicBoolean pinned = new AtomicBoolean();
+        when(taskRepository.streamAllStates()).thenAnswer(invocation -> {
+            pinned.set(ReadYourWrites.isPinnedToPrimary());
+            return Stream.of(new TaskStateRow(1L, TaskStatus.OPEN, null, 0L));
+        });
+        statistics = new TaskStatistics(taskRepository, mock(PlatformTransactionManager.class),
+                                        new TaskStatsProperties(), meterRegistry, clock);
+
+        statistics.reconcile();
+
+        assertThat(pinned).isTrue();
+        assertThat(ReadYourWrites.isPinnedToPrimary()).isFalse();
+        assertThat(statistics.snapshot().getTotal()).isEqualTo(1);
+    }
+
+    private static TaskResponseDto task(Long id, TaskStatus status, LocalDateTime dueDate, Long version) {
+        return TaskResponseDto.builder()
+            .id(id)
+            .title("Task " + id)
+            .status(status)
+            .dueDate(dueDate)
+            .version(version)
+            .build();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}